@@ -0,0 +1,116 @@
+package blackJack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BlackJackTableEngine で動かした全てのテーブルの結果を集計した不変クラス。
+ * @author Takashi Sakakihara
+ *
+ */
+public final class BlackJackEngineResult {
+	/**
+	 * テーブルごとの結果。投入した順に並ぶ。
+	 */
+	private final List<BlackJackTableResult> tableResults;
+	/**
+	 * 全テーブルのゲーム数の合計。
+	 */
+	private final long totalGames;
+	/**
+	 * 全テーブルの全プレイヤーのチップの増減の合計。
+	 */
+	private final long totalChipsDifference;
+	/**
+	 * 全テーブルの全プレイヤーの時間切れの回数の合計。
+	 */
+	private final long totalTimeouts;
+	/**
+	 * 例外で途中で終了したテーブルの数。
+	 */
+	private final int numberOfFailedTables;
+
+	/**
+	 * コンストラクタ。
+	 * @param tableResults テーブルごとの結果
+	 */
+	public BlackJackEngineResult(List<BlackJackTableResult> tableResults) {
+		this.tableResults = Collections.unmodifiableList(new ArrayList<BlackJackTableResult>(tableResults));
+		long games = 0;
+		long chipsDifference = 0;
+		long timeouts = 0;
+		int failedTables = 0;
+		for(BlackJackTableResult result : tableResults) {
+			if(result.isFailed()) {
+				failedTables++;
+			}
+			games += result.getGamesPlayed();
+			for(int i = 0; i < result.getNumberOfPlayers(); i++) {
+				chipsDifference += result.getChipsDifference(i);
+				timeouts += result.getTimeouts(i);
+			}
+		}
+		this.totalGames = games;
+		this.totalChipsDifference = chipsDifference;
+		this.totalTimeouts = timeouts;
+		this.numberOfFailedTables = failedTables;
+	}
+
+	/**
+	 * テーブルごとの結果を取得する。
+	 * @return テーブルごとの結果の変更できないリスト
+	 */
+	public List<BlackJackTableResult> getTableResults() {
+		return tableResults;
+	}
+
+	/**
+	 * テーブルの数を取得する。
+	 * @return テーブルの数
+	 */
+	public int getNumberOfTables() {
+		return tableResults.size();
+	}
+
+	/**
+	 * 全テーブルのゲーム数の合計を取得する。
+	 * @return ゲーム数の合計
+	 */
+	public long getTotalGames() {
+		return totalGames;
+	}
+
+	/**
+	 * 全テーブルの全プレイヤーのチップの増減の合計を取得する。
+	 * @return チップの増減の合計
+	 */
+	public long getTotalChipsDifference() {
+		return totalChipsDifference;
+	}
+
+	/**
+	 * 全テーブルの全プレイヤーが時間内に応答しなかった回数の合計を取得する。
+	 * @return 時間切れの回数の合計
+	 */
+	public long getTotalTimeouts() {
+		return totalTimeouts;
+	}
+
+	/**
+	 * 例外で途中で終了したテーブルの数を取得する。
+	 * どのテーブルかは getTableResults() の各結果の isFailed() で分かる。
+	 * @return 例外で終了したテーブルの数
+	 */
+	public int getNumberOfFailedTables() {
+		return numberOfFailedTables;
+	}
+
+	/**
+	 * 全てのテーブルが例外を出さずに終了したかどうか。
+	 * @return 例外で終了したテーブルがなければ true
+	 */
+	public boolean isAllSucceeded() {
+		return numberOfFailedTables == 0;
+	}
+}
@@ -35,7 +35,7 @@ public class BlackJackPlayer implements VisualizerOnCUI {
 	/**
 	 * このプレイヤーのコントローラー。
 	 */
-	private BlackJackController controller;
+	private final BlackJackController controller;
 
 	/**
 	 * コンストラクタ。
@@ -44,6 +44,7 @@ public class BlackJackPlayer implements VisualizerOnCUI {
 	 * @param playerNumber プレイヤー番号。
 	 * @param playerType プレイヤーの（コントローラーの）種類。
 	 * @param scanCUI CUIを使うコントローラー用のスキャナー。
+	 * @throws IllegalArgumentException 知らないプレイヤーの種類を指定したときの例外
 	 */
 	public BlackJackPlayer(String name, int playerNumber, String playerType, ScannerForMultiThreadOnCUI scanCUI) {
 		this.name = name;
@@ -69,9 +70,12 @@ public class BlackJackPlayer implements VisualizerOnCUI {
 		 */
 			// !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!
 		default:
-			break;
+			throw new IllegalArgumentException("プレイヤーの種類が正しくありません。 : " + playerType);
+		}
+		// 直接応答するコントローラーはスレッドを使わない。
+		if(!this.controller.isSynchronous()) {
+			this.controller.start();
 		}
-		this.controller.start();
 	}
 
 	/**
@@ -113,13 +117,11 @@ public class BlackJackPlayer implements VisualizerOnCUI {
 	 * プレイヤーの行動のメッセージを取得する。
 	 * BlackJackTableが呼び出す。
 	 * 実際の処理はコントローラーが行う。
+	 * 公開情報の版はここで進むので、コントローラーは snapshot() で最新の状態を読める。
 	 * @return メッセージ。
 	 */
 	public String getMessage() {
-		if(controller != null) {
-			return controller.getMessage();
-		}
-		return "No Controller!";
+		return controllerToAsk().getMessage();
 	}
 
 	/**
@@ -130,10 +132,65 @@ public class BlackJackPlayer implements VisualizerOnCUI {
 	 * @return メッセージ。
 	 */
 	public String getMessageSplited(int handNumber) {
-		if(controller != null) {
-			return controller.getMessageSplited(handNumber);
-		}
-		return "No Controller!";
+		return controllerToAsk().getMessageSplited(handNumber);
+	}
+
+	/**
+	 * プレイヤーの応答を取得する。
+	 * BlackJackTableが呼び出す。
+	 * 実際の処理はコントローラーが行う。文字列で応答するコントローラーのメッセージもここで Decision に変換される。
+	 * @param handNumber 手札の番号。
+	 * @return 応答。
+	 */
+	public Decision getDecision(int handNumber) {
+		return controllerToAsk().getDecision(handNumber);
+	}
+
+	/**
+	 * 締め切りまでにプレイヤーの応答を取得する。
+	 * BlackJackTableが呼び出す。
+	 * @param handNumber 手札の番号。
+	 * @param deadlineNanos 締め切り（System.nanoTime() の値）
+	 * @return 応答。締め切りまでに応答がなかった場合は null
+	 */
+	public Decision getDecision(int handNumber, long deadlineNanos) {
+		return controllerToAsk().getDecision(handNumber, deadlineNanos);
+	}
+
+	/**
+	 * 他のプレイヤーと同時に応答を求めてよいかどうか。
+	 * @return 同時に応答を求めてよいなら true
+	 */
+	public boolean canDecideConcurrently() {
+		return controller.canDecideConcurrently();
+	}
+
+	/**
+	 * 応答の要求だけを出す。応答は awaitDecision() で受け取る。
+	 * canDecideConcurrently() が true のときに BlackJackTable が呼び出す。
+	 * @param handNumber 手札の番号。
+	 */
+	public void requestDecision(int handNumber) {
+		controllerToAsk().requestDecision(handNumber);
+	}
+
+	/**
+	 * コントローラーに応答を求める前に呼び出し、求める先のコントローラーを返す。
+	 * 前回の要求からの状態の変更をここで公開するので、コントローラーは常に最新の公開情報を読める。
+	 * @return このプレイヤーのコントローラー
+	 */
+	private BlackJackController controllerToAsk() {
+		commonInformation.publish();
+		return controller;
+	}
+
+	/**
+	 * requestDecision() で出した要求への応答を、締め切りまで待つ。
+	 * @param deadlineNanos 締め切り（System.nanoTime() の値）
+	 * @return 応答。締め切りまでに応答がなかった場合は null
+	 */
+	public Decision awaitDecision(long deadlineNanos) {
+		return controller.awaitDecision(deadlineNanos);
 	}
 
 	/**
@@ -146,12 +203,20 @@ public class BlackJackPlayer implements VisualizerOnCUI {
 	}
 
 	/**
-	 * コントローラーのスレッドを終了する。
+	 * コントローラーの処理を終了する。スレッドを使うコントローラーの場合はそのスレッドも終了する。
 	 */
 	public void stop() {
 		controller.stopController();
 	}
 
+	/**
+	 * stop() でコントローラーの処理を終了したかどうか。
+	 * @return 終了したなら true
+	 */
+	public boolean isStopped() {
+		return !controller.isAlive();
+	}
+
 	/**
 	 * このプレイヤーの番号及び名前の表示。
 	 * VisualizerOnCUIインターフェースの実装。
@@ -0,0 +1,176 @@
+package blackJack;
+
+/**
+ * ブラックジャックのルールの判定をまとめたクラス。
+ * BlackJackTable と BlackJackSimulator の両方がここを使うので、テーブルとシミュレーションでルールが食い違うことはない。
+ * 手札は HandValue の状態とカードの数字（1～13）の int だけで表し、オブジェクトは作らない。
+ * チップが足りるかどうかの判定は、チップを管理する呼び出し側で行う。
+ * @author Takashi Sakakihara
+ */
+public final class BlackJackRules {
+	/**
+	 * ディーラーがカードを引くのをやめる点数。
+	 */
+	public static final int DEALER_STANDS_AT = 17;
+
+	/**
+	 * インスタンスは作らない。
+	 */
+	private BlackJackRules() {
+	}
+
+	/**
+	 * インシュランスを受け付けるかどうか。ディーラーのオープンカードがAのときだけ受け付ける。
+	 * @param upcardNumber ディーラーのオープンカードの数字
+	 * @return インシュランスを受け付けるなら true
+	 */
+	public static boolean offersInsurance(int upcardNumber) {
+		return upcardNumber == 1;
+	}
+
+	/**
+	 * プレイヤーの行動の前にディーラーのブラックジャックを確認するかどうか。
+	 * ディーラーのオープンカードがAまたは10点のカードのときだけ確認する。
+	 * @param upcardNumber ディーラーのオープンカードの数字
+	 * @return 確認するなら true
+	 */
+	public static boolean checksDealersBlackJack(int upcardNumber) {
+		return !(1 < upcardNumber && upcardNumber < 10);
+	}
+
+	/**
+	 * ディーラーが次のカードを引くかどうか。合計が17以上になるかバーストするまで引く。
+	 * @param dealersState ディーラーの手札の状態
+	 * @return 引くなら true
+	 */
+	public static boolean dealerDraws(int dealersState) {
+		int strength = HandValue.strength(dealersState);
+		return 0 < strength && strength < DEALER_STANDS_AT;
+	}
+
+	/**
+	 * 2枚のカードがスプリットできる組かどうか。10点のカードは全て同じとみなす。
+	 * @param firstNumber 1枚目の数字
+	 * @param secondNumber 2枚目の数字
+	 * @return スプリットできるなら true
+	 */
+	public static boolean isSplittablePair(int firstNumber, int secondNumber) {
+		if(firstNumber > 10) firstNumber = 10;
+		if(secondNumber > 10) secondNumber = 10;
+		return firstNumber == secondNumber;
+	}
+
+	/**
+	 * 最初の手札の2枚の状態でだけできる行動（ダブルダウン、スプリット、サレンダー）ができるかどうか。
+	 * @param handNumber 手札の番号
+	 * @param handSize 手札の枚数
+	 * @return できるなら true
+	 */
+	public static boolean isFirstAction(int handNumber, int handSize) {
+		return handNumber == 0 && handSize == 2;
+	}
+
+	/**
+	 * ヒットした後の手札の状態を返す。
+	 * バーストした場合は BURST、エースのスプリットの後は1回しかヒットできないので STAND、それ以外は HIT。
+	 * @param statusBeforeHit ヒットする前の手札の状態
+	 * @param firstNumber 手札の1枚目の数字
+	 * @param stateAfterHit ヒットした後の HandValue の状態
+	 * @return ヒットした後の手札の状態
+	 */
+	public static HandStatus statusAfterHit(HandStatus statusBeforeHit, int firstNumber, int stateAfterHit) {
+		if(HandValue.isBust(stateAfterHit)) {
+			return HandStatus.BURST;
+		}
+		if(statusBeforeHit == HandStatus.SPLIT && firstNumber == 1) {
+			return HandStatus.STAND;
+		}
+		return HandStatus.HIT;
+	}
+
+	/**
+	 * ダブルダウンした後の手札の状態を返す。バーストした場合は BURST、それ以外は DOUBLEDOWN。
+	 * どちらの場合も、その手札の行動は終わる。
+	 * @param stateAfterDraw カードを引いた後の HandValue の状態
+	 * @return ダブルダウンした後の手札の状態
+	 */
+	public static HandStatus statusAfterDoubleDown(int stateAfterDraw) {
+		return HandValue.isBust(stateAfterDraw) ? HandStatus.BURST : HandStatus.DOUBLEDOWN;
+	}
+
+	/**
+	 * 手札の行動が終わったかどうか。STAND、SURRENDER、BURST、DOUBLEDOWN になった手札は次の手札に進む。
+	 * @param status 手札の状態
+	 * @return 行動が終わったなら true
+	 */
+	public static boolean isHandFinished(HandStatus status) {
+		return status == HandStatus.STAND || status == HandStatus.SURRENDER || status == HandStatus.BURST
+				|| status == HandStatus.DOUBLEDOWN;
+	}
+
+	/**
+	 * サレンダーで返却される額。
+	 * @param bet 賭金
+	 * @return 返却される額
+	 */
+	public static long surrenderRefund(long bet) {
+		return bet / 2;
+	}
+
+	/**
+	 * ダブルダウンで追加でかける額。賭金と同額で、チップから差し引く。
+	 * @param bet ダブルダウンする前の賭金
+	 * @return 追加でかける額
+	 */
+	public static long doubleDownStake(long bet) {
+		return bet;
+	}
+
+	/**
+	 * ディーラーがブラックジャックだったときのインシュランスの払い戻し。
+	 * @param insurance インシュランス
+	 * @return 払い戻す額
+	 */
+	public static long insurancePayout(long insurance) {
+		return insurance * 3;
+	}
+
+	/**
+	 * インシュランスとしてかけられる最大の額。
+	 * @param bet 賭金
+	 * @return インシュランスの最大の額
+	 */
+	public static long maxInsurance(long bet) {
+		return bet / 2;
+	}
+
+	/**
+	 * 手札1つの勝敗を決める。
+	 * バーストした手札は負け、ディーラーがバーストした場合は勝ち、それ以外は点数を比べる。
+	 * 点数が同じなら引き分けで、プレイヤーが勝っていて2枚で21かつスプリットしていなければブラックジャックになる。
+	 * @param playersState プレイヤーの手札の状態
+	 * @param dealersState ディーラーの手札の状態
+	 * @param isOnlyHand プレイヤーの手札がこれ1つだけ（スプリットしていない）なら true
+	 * @return 手札の結果
+	 */
+	public static HandOutcome outcome(int playersState, int dealersState, boolean isOnlyHand) {
+		if(HandValue.isBust(playersState)) {
+			return HandOutcome.LOSE;
+		}
+		if(HandValue.isBust(dealersState)) {
+			return HandOutcome.WIN;
+		}
+		int playersStrength = HandValue.strength(playersState);
+		int dealersStrength = HandValue.strength(dealersState);
+		if(dealersStrength > playersStrength) {
+			return HandOutcome.LOSE;
+		}
+		if(dealersStrength == playersStrength) {
+			return HandOutcome.PUSH;
+		}
+		if(HandValue.isTwentyOneWithTwoCards(playersState) && isOnlyHand) {
+			return HandOutcome.BLACKJACK;
+		}
+		return HandOutcome.WIN;
+	}
+}
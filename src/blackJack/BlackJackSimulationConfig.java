@@ -0,0 +1,239 @@
+package blackJack;
+
+/**
+ * BlackJackSimulator の設定。
+ * 各 set メソッドは自分自身を返すので、続けて書くことができる。
+ * 値の範囲は BlackJackTableConfig と同じで、範囲外の値は IllegalArgumentException になる。
+ * <pre>
+ * SimulationResult result = BlackJackSimulator.runParallel(new BlackJackSimulationConfig()
+ * 		.setStrategy(new IrAiStrategy())
+ * 		.setNumberOfDecks(6)
+ * 		.setRounds(100_000_000L)
+ * 		.setSeed(1L));
+ * </pre>
+ * @author Takashi Sakakihara
+ *
+ */
+public class BlackJackSimulationConfig {
+	/**
+	 * BlackJackSimulator.runParallel() で1つのタスクが受け持つラウンド数の既定値。
+	 */
+	public static final long DEFAULT_CHUNK_ROUNDS = 1L << 16;
+	/**
+	 * 評価する戦略。
+	 */
+	private BlackJackStrategy strategy;
+	/**
+	 * 使用するトランプのデッキ数。
+	 */
+	private int numberOfDecks = 1;
+	/**
+	 * 最低賭金。
+	 */
+	private int minimumBet = 10;
+	/**
+	 * カットカードの位置（ペネトレーション）。
+	 */
+	private double penetration = 0.6;
+	/**
+	 * 行うラウンド数。
+	 */
+	private long rounds = 1_000_000L;
+	/**
+	 * BlackJackSimulator.runParallel() で同時に動かすスレッドの数。
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	/**
+	 * BlackJackSimulator.runParallel() で1つのタスクが受け持つラウンド数。
+	 */
+	private long chunkRounds = DEFAULT_CHUNK_ROUNDS;
+	/**
+	 * 乱数のシードを指定したかどうか。
+	 */
+	private boolean hasSeed = false;
+	/**
+	 * 乱数のシード。
+	 */
+	private long seed;
+
+	/**
+	 * 評価する戦略を設定する。必ず設定する。
+	 * @param strategy 戦略
+	 * @return この設定
+	 */
+	public BlackJackSimulationConfig setStrategy(BlackJackStrategy strategy) {
+		if(strategy == null) {
+			throw new IllegalArgumentException("戦略が null です。");
+		}
+		this.strategy = strategy;
+		return this;
+	}
+
+	/**
+	 * 使用するトランプのデッキ数を設定する。
+	 * @param numberOfDecks デッキ数（1～8）
+	 * @return この設定
+	 */
+	public BlackJackSimulationConfig setNumberOfDecks(int numberOfDecks) {
+		if(numberOfDecks < 1 || 8 < numberOfDecks) {
+			throw new IllegalArgumentException("デッキ数は1～8で設定してください。 : " + numberOfDecks);
+		}
+		this.numberOfDecks = numberOfDecks;
+		return this;
+	}
+
+	/**
+	 * 最低賭金を設定する。
+	 * @param minimumBet 最低賭金（1～100）
+	 * @return この設定
+	 */
+	public BlackJackSimulationConfig setMinimumBet(int minimumBet) {
+		if(minimumBet < 1 || 100 < minimumBet) {
+			throw new IllegalArgumentException("最低賭金は1～100で設定してください。 : " + minimumBet);
+		}
+		this.minimumBet = minimumBet;
+		return this;
+	}
+
+	/**
+	 * カットカードの位置（ペネトレーション）を設定する。
+	 * @param penetration 山札をシャッフルし直すまでに配るカードの割合（0より大きく1未満）
+	 * @return この設定
+	 */
+	public BlackJackSimulationConfig setPenetration(double penetration) {
+		if(!(0.0 < penetration && penetration < 1.0)) {
+			throw new IllegalArgumentException("ペネトレーションは0より大きく1未満で設定してください。 : " + penetration);
+		}
+		this.penetration = penetration;
+		return this;
+	}
+
+	/**
+	 * 行うラウンド数を設定する。
+	 * @param rounds ラウンド数（1以上）
+	 * @return この設定
+	 */
+	public BlackJackSimulationConfig setRounds(long rounds) {
+		if(rounds < 1) {
+			throw new IllegalArgumentException("ラウンド数は1以上で設定してください。 : " + rounds);
+		}
+		this.rounds = rounds;
+		return this;
+	}
+
+	/**
+	 * BlackJackSimulator.runParallel() で同時に動かすスレッドの数を設定する。既定値はコア数。
+	 * スレッドの数は結果に影響しない（チャンクの分け方は setChunkRounds() で決まる）。
+	 * @param parallelism スレッドの数（1～32767）
+	 * @return この設定
+	 */
+	public BlackJackSimulationConfig setParallelism(int parallelism) {
+		if(parallelism < 1 || 0x7fff < parallelism) {
+			throw new IllegalArgumentException("スレッドの数は1～32767で設定してください。 : " + parallelism);
+		}
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * BlackJackSimulator.runParallel() で1つのタスク（チャンク）が受け持つラウンド数を設定する。
+	 * 結果はラウンド数とこの値で決まるチャンクの分け方に依存し、スレッドの数には依存しない。
+	 * ラウンド数をスレッドの数で割った値より小さくしておくと、全てのスレッドに仕事が行き渡る。
+	 * @param chunkRounds 1つのタスクのラウンド数（1以上）
+	 * @return この設定
+	 */
+	public BlackJackSimulationConfig setChunkRounds(long chunkRounds) {
+		if(chunkRounds < 1) {
+			throw new IllegalArgumentException("チャンクのラウンド数は1以上で設定してください。 : " + chunkRounds);
+		}
+		this.chunkRounds = chunkRounds;
+		return this;
+	}
+
+	/**
+	 * 乱数のシードを設定する。同じシードと同じ設定なら、同じ結果が再現される。
+	 * @param seed 乱数のシード
+	 * @return この設定
+	 */
+	public BlackJackSimulationConfig setSeed(long seed) {
+		this.hasSeed = true;
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * 評価する戦略を取得する。
+	 * @return 戦略
+	 * @throws IllegalStateException 戦略を設定していないときの例外
+	 */
+	public BlackJackStrategy getStrategy() {
+		if(strategy == null) {
+			throw new IllegalStateException("戦略が設定されていません。");
+		}
+		return strategy;
+	}
+
+	/**
+	 * 使用するトランプのデッキ数を取得する。
+	 * @return デッキ数
+	 */
+	public int getNumberOfDecks() {
+		return numberOfDecks;
+	}
+
+	/**
+	 * 最低賭金を取得する。
+	 * @return 最低賭金
+	 */
+	public int getMinimumBet() {
+		return minimumBet;
+	}
+
+	/**
+	 * カットカードの位置（ペネトレーション）を取得する。
+	 * @return 山札をシャッフルし直すまでに配るカードの割合
+	 */
+	public double getPenetration() {
+		return penetration;
+	}
+
+	/**
+	 * 行うラウンド数を取得する。
+	 * @return ラウンド数
+	 */
+	public long getRounds() {
+		return rounds;
+	}
+
+	/**
+	 * BlackJackSimulator.runParallel() で同時に動かすスレッドの数を取得する。
+	 * @return スレッドの数
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * BlackJackSimulator.runParallel() で1つのタスクが受け持つラウンド数を取得する。
+	 * @return 1つのタスクのラウンド数
+	 */
+	public long getChunkRounds() {
+		return chunkRounds;
+	}
+
+	/**
+	 * 乱数のシードを指定したかどうかを取得する。
+	 * @return シードを指定したなら true
+	 */
+	public boolean hasSeed() {
+		return hasSeed;
+	}
+
+	/**
+	 * 乱数のシードを取得する。
+	 * @return 乱数のシード
+	 */
+	public long getSeed() {
+		return seed;
+	}
+}
@@ -0,0 +1,485 @@
+package blackJack;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * BlackJackTable と同じルールで、1つの戦略に1つの席でラウンドを繰り返し行い、結果を集計するシミュレーター。
+ * コンソール、コントローラー、プレイヤーごとのスレッド、待機を一切使わず、
+ * ルールの判定は BlackJackRules を、手札の点数は HandValue を、山札は RankCountShoe をテーブルと共有する。
+ * 手札は int の配列だけで表すので、ラウンドの途中でオブジェクトを作らない。
+ * チップは無限にあるものとして扱い、ダブルダウンやスプリットでチップが足りないことはない。
+ * 戦略が行えない行動を返した場合は、テーブルで間違った応答が続いたときと同じくスタンドとして扱う。
+ * 戦略は SeatView としてのこのオブジェクトから現在のラウンドの状態を読む。
+ * 1つのインスタンスは1つのスレッドからだけ使う。
+ * 複数のスレッドで行う場合は runParallel() を使う。
+ * @author Takashi Sakakihara
+ *
+ */
+public final class BlackJackSimulator implements SeatView {
+	/**
+	 * 手札1つが持ちうるカードの最大枚数。8デッキのエース全てでも21を超えるまでに収まる。
+	 */
+	private static final int MAX_CARDS_IN_HAND = 22;
+
+	/**
+	 * 評価する戦略。
+	 */
+	private final BlackJackStrategy strategy;
+	/**
+	 * 最低賭金。
+	 */
+	private final int minimumBet;
+	/**
+	 * 山札の残りの割合がこれを下回ったら、次のラウンドの開始時にシャッフルし直す。
+	 */
+	private final double reshuffleBelow;
+	/**
+	 * 山札。
+	 */
+	private final RankCountShoe shoe;
+
+	/**
+	 * ディーラーのオープンカードの状態。
+	 */
+	private int dealersUpcardState;
+	/**
+	 * 手札の数。
+	 */
+	private int numberOfHands;
+	/**
+	 * 手札ごとの HandValue の状態。
+	 */
+	private int[] handStates = new int[2];
+	/**
+	 * 手札ごとの枚数。
+	 */
+	private int[] handSizes = new int[2];
+	/**
+	 * 手札のカードの数字。手札 h の i 枚目は cards[h * MAX_CARDS_IN_HAND + i]。
+	 */
+	private int[] cards = new int[2 * MAX_CARDS_IN_HAND];
+	/**
+	 * 手札ごとの状態。
+	 */
+	private HandStatus[] statuses = new HandStatus[2];
+	/**
+	 * 現在のラウンドの賭金。ダブルダウンで倍になる。
+	 */
+	private long bet;
+
+	/**
+	 * 行ったラウンド数。
+	 */
+	private long rounds;
+	/**
+	 * 賭金をかけて勝負したラウンド数。
+	 */
+	private long handsPlayed;
+	/**
+	 * チップが増えたラウンド数。
+	 */
+	private long wins;
+	/**
+	 * チップが変わらなかったラウンド数。
+	 */
+	private long pushes;
+	/**
+	 * チップが減ったラウンド数。
+	 */
+	private long losses;
+	/**
+	 * 最初にかけた賭金の合計。
+	 */
+	private long totalInitialBet;
+	/**
+	 * チップの増減の合計。
+	 */
+	private long netChips;
+	/**
+	 * ラウンドごとのチップの増減の2乗の合計。
+	 */
+	private long netChipsSquared;
+
+	/**
+	 * コンストラクタ。
+	 * @param config シミュレーションの設定
+	 * @param seed 山札の乱数のシード
+	 */
+	public BlackJackSimulator(BlackJackSimulationConfig config, long seed) {
+		this(config, new SplittableRandom(seed));
+	}
+
+	/**
+	 * 山札の乱数生成器を指定するコンストラクタ。
+	 * @param config シミュレーションの設定
+	 * @param random 山札のシューごとのシードを生成する乱数生成器
+	 */
+	private BlackJackSimulator(BlackJackSimulationConfig config, RandomGenerator random) {
+		this.strategy = config.getStrategy();
+		this.minimumBet = config.getMinimumBet();
+		this.reshuffleBelow = 1.0 - config.getPenetration();
+		this.shoe = new RankCountShoe(config.getNumberOfDecks(), random);
+	}
+
+	/**
+	 * 設定の通りにシミュレーションを1つのスレッドで行う。
+	 * シードを指定していない場合は毎回異なる結果になる。
+	 * @param config シミュレーションの設定
+	 * @return 結果
+	 */
+	public static SimulationResult run(BlackJackSimulationConfig config) {
+		long seed = config.hasSeed() ? config.getSeed() : new SplittableRandom().nextLong();
+		return new BlackJackSimulator(config, seed).play(config.getRounds());
+	}
+
+	/**
+	 * 設定の通りにシミュレーションを、設定したスレッドの数の ForkJoinPool で行う。
+	 * プールはこの呼び出しの中で作り、終わったら閉じる。
+	 * @param config シミュレーションの設定
+	 * @return 結果
+	 * @see #runParallel(BlackJackSimulationConfig, ForkJoinPool)
+	 */
+	public static SimulationResult runParallel(BlackJackSimulationConfig config) {
+		ForkJoinPool pool = new ForkJoinPool(config.getParallelism());
+		try {
+			return runParallel(config, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * 設定の通りにシミュレーションを、指定した ForkJoinPool で行う。
+	 * ラウンド数を設定のチャンクのラウンド数ずつに分け、チャンクごとに別の山札と、
+	 * マスターシードの SplittableRandom から split() で分けた乱数列を使う。
+	 * チャンクの分け方と乱数列の分け方は設定だけで決まり、結果は整数の合計だけで merge() するので、
+	 * シードを指定すれば、プールのスレッドの数やタスクを実行した順序によらず同じ結果になる。
+	 * ただし run() とは乱数の使い方が異なるので、同じシードでも結果は一致しない。
+	 * 戦略は全てのスレッドで共有するので、状態を持たないものを使う。実行中は設定を変更しないこと。
+	 * @param config シミュレーションの設定
+	 * @param pool シミュレーションを行う ForkJoinPool
+	 * @return 結果
+	 */
+	public static SimulationResult runParallel(BlackJackSimulationConfig config, ForkJoinPool pool) {
+		// 戦略が設定されていなければ、タスクを作る前に IllegalStateException にする。
+		config.getStrategy();
+		long seed = config.hasSeed() ? config.getSeed() : new SplittableRandom().nextLong();
+		long rounds = config.getRounds();
+		long chunkRounds = config.getChunkRounds();
+		long chunks = (rounds - 1) / chunkRounds + 1;
+		return pool.invoke(new ChunkTask(config, rounds, chunkRounds, new SplittableRandom(seed), 0, chunks));
+	}
+
+	/**
+	 * ラウンドを rounds 回行い、このインスタンスで今までに行った全てのラウンドの結果を返す。
+	 * @param rounds ラウンド数
+	 * @return 結果
+	 */
+	public SimulationResult play(long rounds) {
+		for(long i = 0; i < rounds; i++) {
+			playRound();
+		}
+		return getResult();
+	}
+
+	/**
+	 * このインスタンスで今までに行った全てのラウンドの結果を取得する。
+	 * @return 結果
+	 */
+	public SimulationResult getResult() {
+		return new SimulationResult(rounds, handsPlayed, wins, pushes, losses, totalInitialBet, netChips, netChipsSquared);
+	}
+
+	/**
+	 * ラウンドを1回行って集計する。
+	 * BlackJackTable の1ゲームと同じ順に、賭金、配札、インシュランス、ディーラーのブラックジャックの確認、
+	 * プレイヤーの行動、ディーラーの行動、勝敗の処理を行う。
+	 */
+	private void playRound() {
+		rounds++;
+		if(shoe.getRemainingRate() < reshuffleBelow) {
+			shoe.reset();
+		}
+		numberOfHands = 1;
+		handStates[0] = HandValue.EMPTY;
+		handSizes[0] = 0;
+		statuses[0] = HandStatus.INITIALIZED;
+		bet = 0;
+		dealersUpcardState = HandValue.EMPTY;
+
+		// 賭金。最低賭金を下回る賭金はパスとして扱う。
+		long initialBet = strategy.bet(this);
+		if(initialBet < minimumBet) {
+			return;
+		}
+		bet = initialBet;
+		long net = -initialBet;
+
+		// 配札。プレイヤーの2枚、ディーラーの伏せカード、オープンカードの順に引く。
+		addCard(0, drawNumber());
+		addCard(0, drawNumber());
+		statuses[0] = HandStatus.DEALED;
+		int hiddenNumber = drawNumber();
+		int upcardNumber = drawNumber();
+		dealersUpcardState = HandValue.next(HandValue.EMPTY, upcardNumber);
+		int dealersState = dealersUpcardState;
+
+		// インシュランス。
+		long insurance = 0;
+		if(BlackJackRules.offersInsurance(upcardNumber)) {
+			long amount = strategy.insurance(this);
+			if(0 < amount && amount <= BlackJackRules.maxInsurance(bet)) {
+				insurance = amount;
+				net -= insurance;
+				statuses[0] = HandStatus.INSURED;
+			} else if(amount == 0) {
+				statuses[0] = HandStatus.NO_INSURED;
+			}
+		}
+
+		int dealersStateWithHidden = HandValue.next(dealersState, hiddenNumber);
+		if(BlackJackRules.checksDealersBlackJack(upcardNumber) && HandValue.strength(dealersStateWithHidden) == 21) {
+			// ディーラーのブラックジャック。プレイヤーの行動とディーラーの行動は行わない。
+			dealersState = dealersStateWithHidden;
+			net += BlackJackRules.insurancePayout(insurance);
+		} else {
+			net += playHands();
+			dealersState = dealersStateWithHidden;
+			while(BlackJackRules.dealerDraws(dealersState)) {
+				dealersState = HandValue.next(dealersState, drawNumber());
+			}
+		}
+
+		// 勝敗。サレンダーした場合は全ての手札の勝負をしない。
+		if(statuses[0] != HandStatus.SURRENDER) {
+			for(int hand = 0; hand < numberOfHands; hand++) {
+				net += BlackJackRules.outcome(handStates[hand], dealersState, numberOfHands == 1).payout(bet);
+			}
+		}
+
+		handsPlayed++;
+		totalInitialBet += initialBet;
+		netChips += net;
+		netChipsSquared += net * net;
+		if(net > 0) {
+			wins++;
+		} else if(net == 0) {
+			pushes++;
+		} else {
+			losses++;
+		}
+	}
+
+	/**
+	 * 山札から1枚引いて、その数字を返す。
+	 * ペネトレーションが大きいとラウンドの途中で山札がなくなることがあるので、
+	 * そのときはその場でシャッフルし直してから引く。BlackJackTable も同じように引く。
+	 * @return 引いたカードの数字（1～13）
+	 */
+	private int drawNumber() {
+		if(shoe.getCurrentDeckSize() == 0) {
+			shoe.reset();
+		}
+		return shoe.drawNumber();
+	}
+
+	/**
+	 * プレイヤーの行動処理。手札ごとに、行動が終わるまで戦略に行動を求める。
+	 * @return 行動によるチップの増減（スプリットの賭金とサレンダーの返却）
+	 */
+	private long playHands() {
+		long net = 0;
+		int hand = 0;
+		while(hand < numberOfHands) {
+			Decision decision = strategy.action(this, hand);
+			switch(decision.action) {
+			case HIT:
+				addCard(hand, drawNumber());
+				statuses[hand] = BlackJackRules.statusAfterHit(statuses[hand], cards[hand * MAX_CARDS_IN_HAND], handStates[hand]);
+				break;
+			case DOUBLEDOWN:
+				if(BlackJackRules.isFirstAction(hand, handSizes[hand])) {
+					long stake = BlackJackRules.doubleDownStake(bet);
+					net -= stake;
+					bet += stake;
+					addCard(hand, drawNumber());
+					statuses[hand] = BlackJackRules.statusAfterDoubleDown(handStates[hand]);
+				} else {
+					statuses[hand] = HandStatus.STAND;
+				}
+				break;
+			case SPLIT:
+				if(BlackJackRules.isFirstAction(hand, handSizes[hand]) && canSplit(hand)) {
+					net -= bet;
+					split(hand);
+				} else {
+					statuses[hand] = HandStatus.STAND;
+				}
+				break;
+			case SURRENDER:
+				if(BlackJackRules.isFirstAction(hand, handSizes[hand])) {
+					net += BlackJackRules.surrenderRefund(bet);
+					statuses[hand] = HandStatus.SURRENDER;
+				} else {
+					statuses[hand] = HandStatus.STAND;
+				}
+				break;
+			default:
+				// STAND と、行動として読めない応答。
+				statuses[hand] = HandStatus.STAND;
+				break;
+			}
+			if(BlackJackRules.isHandFinished(statuses[hand])) {
+				hand++;
+			}
+		}
+		return net;
+	}
+
+	/**
+	 * 手札 hand の2枚目を新しい手札に移す。どちらの手札も状態は SPLIT になる。
+	 * @param hand 手札の番号
+	 */
+	private void split(int hand) {
+		int newHand = numberOfHands;
+		if(newHand == handStates.length) {
+			int capacity = newHand * 2;
+			handStates = Arrays.copyOf(handStates, capacity);
+			handSizes = Arrays.copyOf(handSizes, capacity);
+			cards = Arrays.copyOf(cards, capacity * MAX_CARDS_IN_HAND);
+			statuses = Arrays.copyOf(statuses, capacity);
+		}
+		numberOfHands++;
+		int movedNumber = cards[hand * MAX_CARDS_IN_HAND + 1];
+		handSizes[hand] = 1;
+		handStates[hand] = HandValue.next(HandValue.EMPTY, cards[hand * MAX_CARDS_IN_HAND]);
+		handSizes[newHand] = 0;
+		handStates[newHand] = HandValue.EMPTY;
+		addCard(newHand, movedNumber);
+		statuses[newHand] = HandStatus.SPLIT;
+		statuses[hand] = HandStatus.SPLIT;
+	}
+
+	/**
+	 * 手札にカードを1枚加える。
+	 * @param hand 手札の番号
+	 * @param number カードの数字
+	 */
+	private void addCard(int hand, int number) {
+		cards[hand * MAX_CARDS_IN_HAND + handSizes[hand]] = number;
+		handSizes[hand]++;
+		handStates[hand] = HandValue.next(handStates[hand], number);
+	}
+
+	@Override
+	public int minimumBet() {
+		return minimumBet;
+	}
+
+	@Override
+	public long bet() {
+		return bet;
+	}
+
+	@Override
+	public int dealerUpcardStrength() {
+		return HandValue.strength(dealersUpcardState);
+	}
+
+	@Override
+	public int numberOfHands() {
+		return numberOfHands;
+	}
+
+	@Override
+	public int handState(int hand) {
+		return handStates[hand];
+	}
+
+	@Override
+	public int handSize(int hand) {
+		return handSizes[hand];
+	}
+
+	@Override
+	public int cardNumber(int hand, int index) {
+		return cards[hand * MAX_CARDS_IN_HAND + index];
+	}
+
+	@Override
+	public boolean canSplit(int hand) {
+		return BlackJackRules.isSplittablePair(cards[hand * MAX_CARDS_IN_HAND], cards[hand * MAX_CARDS_IN_HAND + 1]);
+	}
+
+	/**
+	 * チャンクの範囲を受け持つタスク。
+	 * 範囲を半分に分けて、前半には乱数生成器を split() したものを、後半には元の乱数生成器を渡す。
+	 * 分け方は範囲だけで決まるので、どのチャンクがどの乱数列を使うかはスレッドの数によらない。
+	 */
+	private static final class ChunkTask extends RecursiveTask<SimulationResult> {
+		/**
+		 * シリアライズのバージョン番号。
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * シミュレーションの設定。
+		 */
+		private final BlackJackSimulationConfig config;
+		/**
+		 * 全体のラウンド数。
+		 */
+		private final long rounds;
+		/**
+		 * 1つのチャンクのラウンド数。
+		 */
+		private final long chunkRounds;
+		/**
+		 * この範囲の乱数生成器。
+		 */
+		private final SplittableRandom random;
+		/**
+		 * 受け持つ最初のチャンクの番号。
+		 */
+		private final long firstChunk;
+		/**
+		 * 受け持つ最後のチャンクの次の番号。
+		 */
+		private final long endChunk;
+
+		/**
+		 * コンストラクタ。
+		 * @param config シミュレーションの設定
+		 * @param rounds 全体のラウンド数
+		 * @param chunkRounds 1つのチャンクのラウンド数
+		 * @param random この範囲の乱数生成器
+		 * @param firstChunk 受け持つ最初のチャンクの番号
+		 * @param endChunk 受け持つ最後のチャンクの次の番号
+		 */
+		ChunkTask(BlackJackSimulationConfig config, long rounds, long chunkRounds, SplittableRandom random, long firstChunk, long endChunk) {
+			this.config = config;
+			this.rounds = rounds;
+			this.chunkRounds = chunkRounds;
+			this.random = random;
+			this.firstChunk = firstChunk;
+			this.endChunk = endChunk;
+		}
+
+		@Override
+		protected SimulationResult compute() {
+			if(endChunk - firstChunk == 1) {
+				return new BlackJackSimulator(config, random).play(Math.min(chunkRounds, rounds - firstChunk * chunkRounds));
+			}
+			long middleChunk = (firstChunk + endChunk) >>> 1;
+			ChunkTask first = new ChunkTask(config, rounds, chunkRounds, random.split(), firstChunk, middleChunk);
+			ChunkTask second = new ChunkTask(config, rounds, chunkRounds, random, middleChunk, endChunk);
+			first.fork();
+			SimulationResult secondResult = second.compute();
+			return first.join().merge(secondResult);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package blackJack;
+
+/**
+ * プレイヤーの戦略。SeatView から読める状態だけで応答を決める純粋な関数として実装する。
+ * 状態を持たないので、1つのインスタンスを複数の席やスレッドで共有できる。
+ * BlackJackTable では SynchronousBlackJackController のサブクラスがこれを呼び出し、
+ * BlackJackSimulator ではコントローラーを介さずに直接呼び出す。
+ * @author Takashi Sakakihara
+ */
+public interface BlackJackStrategy {
+	/**
+	 * 賭金を決める。
+	 * @param seat 席から見える状態
+	 * @return 賭金。0ならパス
+	 */
+	long bet(SeatView seat);
+
+	/**
+	 * インシュランスを決める。ディーラーのオープンカードがAのときだけ呼ばれる。
+	 * @param seat 席から見える状態
+	 * @return インシュランス。0ならインシュランスをしない
+	 */
+	long insurance(SeatView seat);
+
+	/**
+	 * 手札の行動を決める。
+	 * @param seat 席から見える状態
+	 * @param handNumber 行動を決める手札の番号
+	 * @return HIT、STAND、DOUBLEDOWN、SPLIT、SURRENDER のいずれかの応答
+	 */
+	Decision action(SeatView seat, int handNumber);
+}
@@ -1,10 +1,18 @@
 package blackJack;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 import system.core.Card;
 import system.core.CardDeck;
+import system.core.CardShoe;
 import system.core.GameTable;
+import system.core.GameLogger;
+import system.core.IntHand;
+import system.core.LogLevel;
 import system.front.ScannerForMultiThreadOnCUI;
 
 /**
@@ -34,6 +42,11 @@ public class BlackJackTable extends GameTable {
 	 * 最小賭金。すべてのプレイヤーはこの値以上の賭金で勝負しなければならない。
 	 */
 	private int minimumBet;
+	/**
+	 * カットカードの位置（ペネトレーション）。
+	 * 山札の初期枚数のうちこの割合を配り終えると、次のゲームの開始時に山札をシャッフルし直す。
+	 */
+	private double penetration = 0.6;
 	/**
 	 * ゲームの進行度。ゲームの処理がどの段階かを表す。
 	 * 1 : プレイヤーの賭金の決定処理。
@@ -50,6 +63,11 @@ public class BlackJackTable extends GameTable {
 	 * 次のゲームがあるかどうか。
 	 */
 	private boolean hasNextGame;
+	/**
+	 * 外部からテーブルの停止が要求されたかどうか。
+	 * true になると、進行中のゲームが終わった時点でテーブルを終了する。
+	 */
+	private volatile boolean stopRequested = false;
 	/**
 	 * プレイヤーに共有するゲームの基本情報オブジェクト。
 	 */
@@ -64,9 +82,9 @@ public class BlackJackTable extends GameTable {
 	 */
 	private ArrayList<String> playerNames;
 	/**
-	 * 全プレイヤーの現在のチップ。
+	 * 全プレイヤーの現在のチップと、現在のゲームでの賭金とインシュランスの台帳。
 	 */
-	private ArrayList<Integer> allPlayersChips;
+	private final ChipLedger ledger = new ChipLedger();
 	/**
 	 * ディーラーの公開カード。ディーラーが引く
 	 */
@@ -83,30 +101,46 @@ public class BlackJackTable extends GameTable {
 	 */
 	private ArrayList<ArrayList<ArrayList<Card>>> allPlayersHands;
 	/**
-	 * 全てのプレイヤーの現在のゲームでの賭金。
+	 * 全プレイヤーの全手札の HandValue の状態。allPlayersHands と同じ並びで、手札にカードを加えるたびに更新する。
+	 * 配列の長さは手札の数以上で、スプリットで足りなくなったときに伸ばす。
 	 */
-	private ArrayList<Integer> allPlayersBets;
+	private ArrayList<int[]> allPlayersHandStates;
 	/**
-	 * 全てのプレイヤーの現在のゲームでのインシュランス。
+	 * ディーラーの公開カードの HandValue の状態。
 	 */
-	private ArrayList<Integer> allPlayersInsurance;
+	private int dealersHandState;
 	/**
 	 * プレイヤーの手札の状態。
 	 * スプリットで手札が増えた場合、それぞれの手札がステータスを持つ。
 	 */
-	private ArrayList<ArrayList<String>> allPlayersStatus;
+	private ArrayList<ArrayList<HandStatus>> allPlayersStatus;
 
-	/**
-	 * 行動決定の待ち時間。（ミリ秒）
-	 * プレイヤーから間違ったメッセージを受け取ったときなどに次のメッセージ受け取りまでシステムが待つ時間。
-	 */
-	public static final int waitingTime = 100;
 	/**
 	 * 間違ったメッセージを受け付ける回数。
 	 * この回数間違ったメッセージをプレイヤーから受け取ると、そのプレイヤーは強制的にパスになる。
 	 */
 	public static final int numberOfTimesToAcceptWrongMessage = 5;
 
+	/**
+	 * 応答の種類ごとの、プレイヤーの応答を待つ時間の上限（ミリ秒）。添字は DecisionType の ordinal()。
+	 * この時間内に応答しなかったプレイヤーには既定の応答を適用する。
+	 */
+	private long[] decisionTimeoutMillis = BlackJackTableConfig.defaultDecisionTimeouts();
+	/**
+	 * 全プレイヤーの、応答の種類ごとの時間切れの回数。添字は DecisionType の ordinal()。
+	 */
+	private ArrayList<long[]> allPlayersTimeouts = new ArrayList<long[]>();
+	/**
+	 * 全員に同時に求めた応答の受け取り先。添字はプレイヤー番号。
+	 * 同時に求めなかったプレイヤーや、締め切りまでに応答がなかったプレイヤーの要素は null。
+	 */
+	private Decision[] collectedDecisions = new Decision[0];
+
+	/**
+	 * ゲームの進行や結果を出力するロガー。
+	 */
+	private final GameLogger logger = new GameLogger(LogLevel.DETAIL);
+
 	/**
 	 * 最大ゲーム数。
 	 * この回数ゲームが行われると強制的に終了する。
@@ -129,13 +163,48 @@ public class BlackJackTable extends GameTable {
 		this.players = new ArrayList<BlackJackPlayer>();
 		this.playerNames = new ArrayList<String>();
 		this.allPlayersHands = new ArrayList<ArrayList<ArrayList<Card>>>();
-		this.allPlayersChips = new ArrayList<Integer>();
-		this.allPlayersBets = new ArrayList<Integer>();
-		this.allPlayersInsurance = new ArrayList<Integer>();
-		this.allPlayersStatus = new ArrayList<ArrayList<String>>();
+		this.allPlayersHandStates = new ArrayList<int[]>();
+		this.allPlayersStatus = new ArrayList<ArrayList<HandStatus>>();
 		this.dealersOpenCards = new ArrayList<Card>();
 	}
 
+	/**
+	 * CUIを使わずに、設定オブジェクトからテーブルを作るコンストラクタ。
+	 * 山札の生成と全てのプレイヤーの追加まで行うので、settingTable() を呼ばずにそのまま start() できる。
+	 * 標準入出力を一切使わないため、バッチ処理で大量のテーブルを作るときに使う。
+	 * @param config テーブルの設定
+	 * @throws IllegalArgumentException 席が1つもない設定を渡したときの例外
+	 */
+	public BlackJackTable(BlackJackTableConfig config) {
+		this((ScannerForMultiThreadOnCUI) null);
+		this.numberOfDecks = config.getNumberOfDecks();
+		this.initialPlayerChips = config.getInitialPlayerChips();
+		this.minimumBet = config.getMinimumBet();
+		this.maxGameNumber = config.getMaxGameNumber();
+		this.penetration = config.getPenetration();
+		for(DecisionType type : DecisionType.values()) {
+			this.decisionTimeoutMillis[type.ordinal()] = config.getDecisionTimeoutMillis(type);
+		}
+		this.logger.setLevel(config.getLogLevel());
+		RandomGenerator random = config.hasSeed() ? new SplittableRandom(config.getSeed()) : new SplittableRandom();
+		if(config.isUseRankCountShoe()) {
+			this.gameDeck = new RankCountShoe(numberOfDecks, random);
+		} else {
+			CardDeck deck = new CardDeck(numberOfDecks, random);
+			deck.setLogger(logger);
+			deck.setLazyShuffle(config.isLazyShuffle());
+			this.gameDeck = deck;
+		}
+		List<String> seatNames = config.getSeatNames();
+		List<String> seatTypes = config.getSeatTypes();
+		if(seatNames.isEmpty()) {
+			throw new IllegalArgumentException("席が1つもありません。");
+		}
+		for(int i = 0; i < seatNames.size(); i++) {
+			addSeat(seatNames.get(i), seatTypes.get(i));
+		}
+	}
+
 	@Override
 	public void printStatus() {
 		// TODO 自動生成されたメソッド・スタブ
@@ -160,7 +229,11 @@ public class BlackJackTable extends GameTable {
 		// データのロード機能をあとでつける
 		if(this.ioMode == 0) {
 			setGameRulesOnCUI();
-			this.gameDeck = new CardDeck(this.numberOfDecks);
+			if(this.gameDeck == null) {
+				CardDeck deck = new CardDeck(this.numberOfDecks);
+				deck.setLogger(logger);
+				this.gameDeck = deck;
+			}
 			setPlayersOnCUI();
 		}
 	}
@@ -186,17 +259,32 @@ public class BlackJackTable extends GameTable {
 	 */
 	private void setPlayersOnCUI() {
 		System.out.println("ブラックジャックの参加人数は何人ですか？1～7人で入力してください。");
-		this.numberOfPlayers = scanCUI.scanInt("参加人数", 1, 7);
-		for(int i = 0; i < this.numberOfPlayers; i++) {
+		int numberOfSeats = scanCUI.scanInt("参加人数", 1, 7);
+		for(int i = 0; i < numberOfSeats; i++) {
 			System.out.println("プレイヤー" + i + "を追加します。");
 			addPlayerOnCUI(i);
-			allPlayersChips.add(initialPlayerChips);
-			allPlayersBets.add(0);
-			allPlayersStatus.add(new ArrayList<String>());
-			allPlayersHands.add(new ArrayList<ArrayList<Card>>());
 		}
 	}
 
+	/**
+	 * 席を1つ追加し、プレイヤーのオブジェクトとそのプレイヤーの状態を用意する。
+	 * プレイヤー番号は追加した順に振られる。
+	 * @param playerName プレイヤーの名前
+	 * @param playerType プレイヤーの（コントローラーの）種類
+	 */
+	private void addSeat(String playerName, String playerType) {
+		int playerNumber = players.size();
+		playerNames.add(playerName);
+		players.add(new BlackJackPlayer(playerName, playerNumber, playerType, scanCUI));
+		ledger.addSeat(initialPlayerChips);
+		allPlayersStatus.add(new ArrayList<HandStatus>());
+		allPlayersHands.add(new ArrayList<ArrayList<Card>>());
+		allPlayersHandStates.add(new int[2]);
+		collectedDecisions = Arrays.copyOf(collectedDecisions, players.size());
+		allPlayersTimeouts.add(new long[DecisionType.values().length]);
+		this.numberOfPlayers = players.size();
+	}
+
 	/**
 	 * プレイヤーのオブジェクトをゲームに追加する。
 	 * ここの入力で決定したPlayerTypeによって、生成されるプレイヤーの意思決定処理がCUIの入力になったり、AIになったりする。
@@ -232,9 +320,7 @@ public class BlackJackTable extends GameTable {
 		default:
 			break;
 		}
-		playerNames.add(playerName);
-		BlackJackPlayer player = new BlackJackPlayer(playerName, playerNumber, playerType, scanCUI);
-		this.players.add(player);
+		addSeat(playerName, playerType);
 		System.out.println();
 	}
 
@@ -245,23 +331,22 @@ public class BlackJackTable extends GameTable {
 		gameNumber++;
 		stage = 0;
 		dealersOpenCards.clear();
+		dealersHandState = HandValue.EMPTY;
 		for(ArrayList<ArrayList<Card>> playersHands : allPlayersHands) {
 			playersHands.clear();
 			playersHands.add(new ArrayList<Card>());
 		}
-		if(gameDeck.getRemainingRate() < 0.4) {
-			gameDeck = new CardDeck(numberOfDecks);
+		for(int[] handStates : allPlayersHandStates) {
+			handStates[0] = HandValue.EMPTY;
 		}
-		for(BlackJackPlayer player : players) {
-			allPlayersBets.set(player.getPlayerNumber(), 0);
+		if(gameDeck.getRemainingRate() < 1.0 - penetration) {
+			gameDeck.reset();
+			logger.detail("山札をシャッフルし直しました。");
 		}
-		allPlayersInsurance.clear();
-		for(int playerNumber = 0; playerNumber < numberOfPlayers; playerNumber++) {
-			allPlayersInsurance.add(0);
-		}
-		for(ArrayList<String> playersStatus : allPlayersStatus) {
+		ledger.clearRound();
+		for(ArrayList<HandStatus> playersStatus : allPlayersStatus) {
 			playersStatus.clear();
-			playersStatus.add("INITIALIZED");
+			playersStatus.add(HandStatus.INITIALIZED);
 		}
 
 		this.commonInformation = new CommonInformation(numberOfPlayers,
@@ -269,10 +354,9 @@ public class BlackJackTable extends GameTable {
 				minimumBet,
 				gameDeck,
 				playerNames,
-				allPlayersChips,
+				ledger,
 				allPlayersHands,
-				allPlayersBets,
-				allPlayersInsurance,
+				allPlayersHandStates,
 				allPlayersStatus,
 				dealersOpenCards);
 		for(BlackJackPlayer player : players) {
@@ -280,6 +364,46 @@ public class BlackJackTable extends GameTable {
 		}
 	}
 
+	/**
+	 * ゲームで使用する山札を設定する。
+	 * settingTable() の前に設定すると、デッキ数の設定に関わらずこの山札が使われる。
+	 * ブラックジャックだけのシミュレーションではカードの実体を持たない RankCountShoe を使うとよい。
+	 * @param shoe ゲームで使用する山札
+	 */
+	public void setShoe(CardShoe shoe) {
+		this.gameDeck = shoe;
+	}
+
+	/**
+	 * ゲームの進行や結果のログの詳しさを設定する。
+	 * SILENT にするとログの文字列自体を作らなくなる。
+	 * @param logLevel ログの詳しさ
+	 */
+	public void setLogLevel(LogLevel logLevel) {
+		logger.setLevel(logLevel);
+	}
+
+	/**
+	 * カットカードの位置（ペネトレーション）を設定する。
+	 * 0より大きく1未満の値のみ受け付ける。
+	 * @param penetration 山札をシャッフルし直すまでに配るカードの割合
+	 * @throws IllegalArgumentException 範囲外の値を指定したときの例外
+	 */
+	public void setPenetration(double penetration) {
+		if(!(0.0 < penetration && penetration < 1.0)) {
+			throw new IllegalArgumentException("ペネトレーションは0より大きく1未満で設定してください。 : " + penetration);
+		}
+		this.penetration = penetration;
+	}
+
+	/**
+	 * カットカードの位置（ペネトレーション）を取得する。
+	 * @return 山札をシャッフルし直すまでに配るカードの割合
+	 */
+	public double getPenetration() {
+		return penetration;
+	}
+
 	@Override
 	public void saveGame() {
 		// TODO 自動生成されたメソッド・スタブ
@@ -299,23 +423,64 @@ public class BlackJackTable extends GameTable {
 	}
 
 	/**
-	 * Thread クラスの run のオーバーライド。
+	 * Runnable の run の実装。start() で Executor のタスクとして呼び出される。
 	 * 次のゲームがある限りゲームの処理を続ける。
 	 */
 	@Override
 	public void run() {
-		// TODO 自動生成されたメソッド・スタブ
-		while(hasNextGame) {
-			gameInitialize();
-			// ゲームの進行処理
-			while(stage < 8) {
-				advanceStage();
-				callGameProgressMethod();
+		try {
+			while(hasNextGame && !stopRequested) {
+				gameInitialize();
+				// ゲームの進行処理
+				while(stage < 8) {
+					advanceStage();
+					callGameProgressMethod();
+				}
+			}
+		} finally {
+			for(BlackJackPlayer player : players) {
+				player.stop();
+				if(logger.isDetail()) {
+					logger.detail(player.getName() + "はいなくなりました。");
+				}
 			}
 		}
+	}
+
+	/**
+	 * テーブルの停止を要求する。
+	 * 進行中のゲームは最後まで行い、その後全てのプレイヤーの stop() を呼び出して終了する。
+	 */
+	public void requestStop() {
+		this.stopRequested = true;
+	}
+
+	/**
+	 * 全てのプレイヤーの stop() が呼ばれたかどうか。テーブルが終了すると true になる。
+	 * @return 全てのプレイヤーのコントローラーが終了したなら true
+	 */
+	public boolean arePlayersStopped() {
 		for(BlackJackPlayer player : players) {
-			player.stop();
+			if(!player.isStopped()) {
+				return false;
+			}
 		}
+		return true;
+	}
+
+	/**
+	 * このテーブルの結果を取得する。
+	 * ゲームの終了後（join() の後）に呼び出す。
+	 * @return テーブルの結果
+	 */
+	public BlackJackTableResult getResult() {
+		long[] finalChips = new long[numberOfPlayers];
+		long[][] timeouts = new long[numberOfPlayers][];
+		for(int i = 0; i < numberOfPlayers; i++) {
+			finalChips[i] = ledger.chipsOf(i);
+			timeouts[i] = allPlayersTimeouts.get(i);
+		}
+		return new BlackJackTableResult(gameNumber, playerNames, initialPlayerChips, finalChips, timeouts, getFailure());
 	}
 
 	/**
@@ -328,11 +493,6 @@ public class BlackJackTable extends GameTable {
 			for(BlackJackPlayer player : this.players) {
 				player.setStage(this.stage);
 			}
-			try {
-				Thread.sleep(waitingTime);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
 		}
 	}
 
@@ -344,8 +504,8 @@ public class BlackJackTable extends GameTable {
 		if(stage < 9) {
 			if(stage == 2) {
 				boolean isSomeoneBet = false;
-				for(ArrayList<String> playerStatus : allPlayersStatus) {
-					if(playerStatus.get(0).equals("BET")) {
+				for(ArrayList<HandStatus> playerStatus : allPlayersStatus) {
+					if(playerStatus.get(0) == HandStatus.BET) {
 						isSomeoneBet = true;
 					}
 				}
@@ -354,13 +514,11 @@ public class BlackJackTable extends GameTable {
 					return false;
 				}
 			} else if(stage == 3) {
-				int dealersNumber = dealersOpenCards.get(0).getNumber();
-				if(dealersNumber != 1) {
+				if(!BlackJackRules.offersInsurance(dealersOpenCards.get(0).getNumber())) {
 					return false;
 				}
 			} else if(stage == 4) {
-				int dealersNumber = dealersOpenCards.get(0).getNumber();
-				if(1 < dealersNumber && dealersNumber < 10) {
+				if(!BlackJackRules.checksDealersBlackJack(dealersOpenCards.get(0).getNumber())) {
 					return false;
 				}
 			}
@@ -404,68 +562,144 @@ public class BlackJackTable extends GameTable {
 			checkNextGame();
 			break;
 		}
-		System.out.println();
+		logger.detail("");
+	}
+
+	/**
+	 * 今から応答の種類 type の応答を求めるときの締め切りを返す。
+	 * @param type 応答の種類
+	 * @return 締め切り（System.nanoTime() の値）
+	 */
+	private long deadlineOf(DecisionType type) {
+		return System.nanoTime() + decisionTimeoutMillis[type.ordinal()] * 1_000_000L;
+	}
+
+	/**
+	 * プレイヤーが時間内に応答しなかったことを記録し、応答の種類ごとの既定の応答を返す。
+	 * 賭金なら最低賭金、インシュランスならしない、行動ならスタンド、次のゲームの参加意思なら終了。
+	 * 応答しないコントローラーがテーブルを動かし続けないように、次のゲームには進まない。
+	 * @param player プレイヤー
+	 * @param type 応答の種類
+	 * @return 既定の応答
+	 */
+	private Decision timedOut(BlackJackPlayer player, DecisionType type) {
+		allPlayersTimeouts.get(player.getPlayerNumber())[type.ordinal()]++;
+		Decision decision;
+		switch(type) {
+		case BET:
+			decision = Decision.bet(minimumBet);
+			break;
+		case INSURANCE:
+			decision = Decision.NO_INSURANCE;
+			break;
+		case ACTION:
+			decision = Decision.STAND;
+			break;
+		default:
+			decision = Decision.END;
+			break;
+		}
+		if(logger.isDetail()) logger.detail(playerInformation(player) + "は時間内に応答しませんでした。" + decision + " として扱います。");
+		return decision;
+	}
+
+	/**
+	 * 状態が askedStatus のプレイヤーのうち、同時に応答を求めてよいプレイヤー全員に要求を出し、
+	 * 全体で1つの締め切りまでに応答を collectedDecisions に集める。
+	 * 応答を集め終わるまで状態は変更しないので、全員が同じ状態を見て判断する。
+	 * 待ち時間は全員の思考時間の合計ではなく、一番遅いプレイヤーの思考時間になる。
+	 * @param askedStatus 応答を求めるプレイヤーの最初の手札の状態
+	 * @param type 応答の種類
+	 */
+	private void collectDecisions(HandStatus askedStatus, DecisionType type) {
+		long deadline = deadlineOf(type);
+		for(BlackJackPlayer player : players) {
+			collectedDecisions[player.getPlayerNumber()] = null;
+			if(player.canDecideConcurrently() && allPlayersStatus.get(player.getPlayerNumber()).get(0) == askedStatus) {
+				player.requestDecision(0);
+			}
+		}
+		for(BlackJackPlayer player : players) {
+			if(player.canDecideConcurrently() && allPlayersStatus.get(player.getPlayerNumber()).get(0) == askedStatus) {
+				collectedDecisions[player.getPlayerNumber()] = player.awaitDecision(deadline);
+			}
+		}
+	}
+
+	/**
+	 * プレイヤーの応答を取得する。
+	 * 同時に応答を求めたプレイヤーの最初の応答は collectedDecisions から取り出し、それ以外はその場で締め切りまで求める。
+	 * @param player プレイヤー
+	 * @param attempt 何回目の確認か（0から）
+	 * @param type 応答の種類
+	 * @return 応答。締め切りまでに応答がなかった場合は null
+	 */
+	private Decision takeDecision(BlackJackPlayer player, int attempt, DecisionType type) {
+		if(attempt == 0 && player.canDecideConcurrently()) {
+			return collectedDecisions[player.getPlayerNumber()];
+		}
+		return player.getDecision(0, deadlineOf(type));
 	}
 
 	/**
 	 * プレイヤーの賭金の設定処理。
-	 * まず、それぞれのプレイヤーから賭金をメッセージとして受け取る。
-	 * 受け取ったメッセージをもとに賭金の情報を設定し、その分チップから引く。
+	 * まず、全てのプレイヤーから賭金を同時にメッセージとして受け取る。
+	 * 受け取ったメッセージをもとに、プレイヤー番号の順に賭金の情報を設定し、その分チップから引く。
+	 * 決められた回数のうちに正しい賭金を返さなかったプレイヤーの状態は INITIALIZED のまま残る。
 	 */
 	private void makePlayersToBet() {
+		collectDecisions(HandStatus.INITIALIZED, DecisionType.BET);
 		for(BlackJackPlayer player : players) {
-			String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
 			for(int i = 0; i < numberOfTimesToAcceptWrongMessage; i++) {
-				if(i > 0) {
-					System.out.print("もう一度");
-				}
-				System.out.println(currentPlayersInformation + "の賭金を確認します。");
-				String betString = player.getMessage();
-				int bet = -1;
-				try {
-					bet = Integer.parseInt(betString);
-				} catch(Exception e) {
-					System.out.println("賭金が読み取れませんでした。");
-					bet = -1;
-					try {
-						Thread.sleep(waitingTime);
-					} catch (InterruptedException e1) {}
+				if(logger.isDetail()) logger.detail((i > 0 ? "もう一度" : "") + playerInformation(player) + "の賭金を確認します。");
+				Decision decision = takeDecision(player, i, DecisionType.BET);
+				boolean isTimedOut = (decision == null);
+				if(isTimedOut) {
+					decision = timedOut(player, DecisionType.BET);
 				}
-				if(bet < 0) {
-					System.out.println("0または最低賭金以上の数ではありません。");
+				long bet = decision.amount;
+				if(decision.action != PlayerAction.BET) {
+					logger.detail("賭金が読み取れませんでした。");
+				} else if(bet < 0) {
+					logger.detail("0または最低賭金以上の数ではありません。");
 				} else if(bet == 0) {
-					allPlayersBets.set(player.getPlayerNumber(),bet);
-					allPlayersStatus.get(player.getPlayerNumber()).set(0, "PASS");
-					System.out.println(currentPlayersInformation + "はこの勝負をパスします。");
+					ledger.setBet(player.getPlayerNumber(), bet);
+					allPlayersStatus.get(player.getPlayerNumber()).set(0, HandStatus.PASS);
+					if(logger.isDetail()) logger.detail(playerInformation(player) + "はこの勝負をパスします。");
 					break;
 				} else if(bet < minimumBet) {
-					System.out.println("最低賭金(" + minimumBet + ")を下回っています。");
-				} else if(bet > this.allPlayersChips.get(player.getPlayerNumber())) {
-					System.out.println("賭金が自分の出せるチップの量(" + allPlayersChips.get(player.getPlayerNumber()) + ")を上回っています");
+					if(logger.isDetail()) logger.detail("最低賭金(" + minimumBet + ")を下回っています。");
+				} else if(bet > ledger.chipsOf(player.getPlayerNumber())) {
+					if(logger.isDetail()) logger.detail("賭金が自分の出せるチップの量(" + ledger.chipsOf(player.getPlayerNumber()) + ")を上回っています");
 				} else {
-					allPlayersBets.set(player.getPlayerNumber(),bet);
-					int playersChip = allPlayersChips.get(player.getPlayerNumber()) - bet;
-					allPlayersChips.set(player.getPlayerNumber(), playersChip);
-					allPlayersStatus.get(player.getPlayerNumber()).set(0, "BET");
-					System.out.println(currentPlayersInformation + "の賭金は" + bet + "になりました。");
+					ledger.setBet(player.getPlayerNumber(), bet);
+					ledger.addChips(player.getPlayerNumber(), -bet);
+					allPlayersStatus.get(player.getPlayerNumber()).set(0, HandStatus.BET);
+					if(logger.isDetail()) logger.detail(playerInformation(player) + "の賭金は" + bet + "になりました。");
 					break;
 				}
-				try {
-					Thread.sleep(waitingTime);
-				} catch (InterruptedException e) {
-					// TODO 自動生成された catch ブロック
-					e.printStackTrace();
-				}
+				// 既定の応答が受け付けられなかった場合も、時間切れのプレイヤーにはもう求めない。
+				if(isTimedOut) break;
 			}
-			if(allPlayersStatus.get(player.getPlayerNumber()).get(0).contentEquals("INITIALIZE")) {
-				allPlayersBets.set(player.getPlayerNumber(), 0);
-				allPlayersStatus.get(player.getPlayerNumber()).set(0, "PASS");
-				System.out.println(currentPlayersInformation + "はこの勝負をパスします。");
-			}
-			System.out.println();
+			// 正しい賭金を一度も返さなかったプレイヤーは INITIALIZED のままにし、checkNextGame() でテーブルを終了する。
+			logger.detail("");
 		}
 	}
 
+	/**
+	 * 山札から1枚引く。
+	 * ペネトレーションが大きく席が多いとゲームの途中で山札がなくなることがあるので、
+	 * そのときはその場でシャッフルし直してから引く。
+	 * @return 引いたカード
+	 */
+	private Card drawCard() {
+		if(gameDeck.getCurrentDeckSize() == 0) {
+			gameDeck.reset();
+			logger.detail("山札がなくなったので、シャッフルし直しました。");
+		}
+		return gameDeck.drawCard();
+	}
+
 	/**
 	 * プレイヤーの初期手札を配る処理。
 	 * プレイヤーの状態がBET（つまり賭金をかけた）ならば配る。そうでないならば配らない。
@@ -473,70 +707,56 @@ public class BlackJackTable extends GameTable {
 	 */
 	private void dealFirstHandCards() {
 		for(BlackJackPlayer player : players) {
-			if(allPlayersStatus.get(player.getPlayerNumber()).get(0).contentEquals("BET")) {
+			if(allPlayersStatus.get(player.getPlayerNumber()).get(0) == HandStatus.BET) {
 				for(int i = 0; i < 2; i++) {
-					allPlayersHands.get(player.getPlayerNumber()).get(0).add(gameDeck.drawCard());
+					addCardToPlayersHand(player.getPlayerNumber(), 0, drawCard());
 				}
-				allPlayersStatus.get(player.getPlayerNumber()).set(0, "DEALED");
+				allPlayersStatus.get(player.getPlayerNumber()).set(0, HandStatus.DEALED);
 			}
 		}
-		dealersHiddenCard = gameDeck.drawCard();
-		dealersOpenCards.add(gameDeck.drawCard());
-		System.out.println("ディーラーのオープンカードは " + dealersOpenCards.get(0).cardInfo() + " です。");
-		System.out.println();
+		dealersHiddenCard = drawCard();
+		addCardToDealersOpenCards(drawCard());
+		if(logger.isDetail()) logger.detail("ディーラーのオープンカードは " + dealersOpenCards.get(0).cardInfo() + " です。");
+		logger.detail("");
 	}
 
 	/**
 	 * インシュランスの処理。
-	 * それぞれのプレイヤーからメッセージを受け取り、適正な値であればインシュランスを設定し、その分チップから引く。
+	 * 全てのプレイヤーから同時にメッセージを受け取り、プレイヤー番号の順に、適正な値であればインシュランスを設定し、その分チップから引く。
 	 */
 	private void makePlayersToInsure() {
+		collectDecisions(HandStatus.DEALED, DecisionType.INSURANCE);
 		for(BlackJackPlayer player : players) {
-			if(allPlayersStatus.get(player.getPlayerNumber()).get(0).contentEquals("DEALED")) {
-				String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
+			if(allPlayersStatus.get(player.getPlayerNumber()).get(0) == HandStatus.DEALED) {
 				for(int i = 0; i < numberOfTimesToAcceptWrongMessage; i++) {
-					if(i > 0) {
-						System.out.print("もう一度");
-					}
-					System.out.println(currentPlayersInformation + "のインシュランスを確認します。");
-					String betString = player.getMessage();
-					int insurance = -1;
-					try {
-						insurance = Integer.parseInt(betString);
-					} catch(Exception e) {
-						System.out.println("インシュランスが読み取れませんでした。");
-						insurance = -1;
-						try {
-							Thread.sleep(waitingTime);
-						} catch (InterruptedException e1) {}
+					if(logger.isDetail()) logger.detail((i > 0 ? "もう一度" : "") + playerInformation(player) + "のインシュランスを確認します。");
+					Decision decision = takeDecision(player, i, DecisionType.INSURANCE);
+					if(decision == null) {
+						decision = timedOut(player, DecisionType.INSURANCE);
 					}
-					if(insurance < 0) {
+					long insurance = decision.amount;
+					if(decision.action != PlayerAction.INSURE) {
+						logger.detail("インシュランスが読み取れませんでした。");
+					} else if(insurance < 0) {
 					} else if(insurance == 0) {
-						allPlayersInsurance.set(player.getPlayerNumber(), insurance);
-						allPlayersStatus.get(player.getPlayerNumber()).set(0, "NO INSURED");
-						System.out.println(player.getName() + "(" + player.getPlayerNumber() + ")はインシュランスをしません。");
+						ledger.setInsurance(player.getPlayerNumber(), insurance);
+						allPlayersStatus.get(player.getPlayerNumber()).set(0, HandStatus.NO_INSURED);
+						if(logger.isDetail()) logger.detail(playerInformation(player) + "はインシュランスをしません。");
 						break;
-					} else if(insurance > this.allPlayersChips.get(player.getPlayerNumber())) {
-						System.out.println("インシュランスが自分のチップ(" + allPlayersChips.get(player.getPlayerNumber()) + ")を上回っています。");
-					} else if(insurance > allPlayersBets.get(player.getPlayerNumber()) / 2) {
-						System.out.println("インシュランスは賭金の半分(" + (allPlayersBets.get(player.getPlayerNumber()) / 2) + ")までです。");
+					} else if(insurance > ledger.chipsOf(player.getPlayerNumber())) {
+						if(logger.isDetail()) logger.detail("インシュランスが自分のチップ(" + ledger.chipsOf(player.getPlayerNumber()) + ")を上回っています。");
+					} else if(insurance > BlackJackRules.maxInsurance(ledger.betOf(player.getPlayerNumber()))) {
+						if(logger.isDetail()) logger.detail("インシュランスは賭金の半分(" + BlackJackRules.maxInsurance(ledger.betOf(player.getPlayerNumber())) + ")までです。");
 					} else {
-						int chip = allPlayersChips.get(player.getPlayerNumber()) - insurance;
-						allPlayersChips.set(player.getPlayerNumber(), chip);
-						allPlayersInsurance.set(player.getPlayerNumber(), insurance);
-						allPlayersStatus.get(player.getPlayerNumber()).set(0, "INSURED");
-						System.out.println(player.getName() + "(" + player.getPlayerNumber() + ")のインシュランスは" + insurance + "になりました。");
+						ledger.addChips(player.getPlayerNumber(), -insurance);
+						ledger.setInsurance(player.getPlayerNumber(), insurance);
+						allPlayersStatus.get(player.getPlayerNumber()).set(0, HandStatus.INSURED);
+						if(logger.isDetail()) logger.detail(playerInformation(player) + "のインシュランスは" + insurance + "になりました。");
 						break;
 					}
-					try {
-						Thread.sleep(waitingTime);
-					} catch (InterruptedException e) {
-						// TODO 自動生成された catch ブロック
-						e.printStackTrace();
-					}
 				}
 			}
-			System.out.println();
+			logger.detail("");
 		}
 	}
 
@@ -546,26 +766,21 @@ public class BlackJackTable extends GameTable {
 	 * その後 stage が 6 になり、プレイヤーの行動処理はスキップされる。
 	 */
 	private void checkDealersBlackJack() {
-		System.out.println("ディーラーのブラックジャックを確認します。");
-		ArrayList<Card> dealersHand = new ArrayList<Card>(dealersOpenCards);
-		dealersHand.add(dealersHiddenCard);
-		if(culculateHandStrength(dealersHand) == 21) {
-			dealersOpenCards.add(dealersHiddenCard);
-			System.out.println("ディーラーのブラックジャックです。");
+		logger.detail("ディーラーのブラックジャックを確認します。");
+		if(HandValue.strength(HandValue.next(dealersHandState, dealersHiddenCard.getNumber())) == 21) {
+			addCardToDealersOpenCards(dealersHiddenCard);
+			logger.detail("ディーラーのブラックジャックです。");
 			for(BlackJackPlayer player : players) {
-				if(allPlayersStatus.get(player.getPlayerNumber()).get(0).contentEquals("INSURED")) {
-					String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
-					int chip = allPlayersChips.get(player.getPlayerNumber());
-					int insuranceRefund = allPlayersInsurance.get(player.getPlayerNumber()) * 3;
-					chip += insuranceRefund;
-					allPlayersChips.set(player.getPlayerNumber(), chip);
-					System.out.println(currentPlayersInformation + "はインシュランスの払い戻しで" + insuranceRefund + "を受け取りました。");
+				if(allPlayersStatus.get(player.getPlayerNumber()).get(0) == HandStatus.INSURED) {
+					long insuranceRefund = BlackJackRules.insurancePayout(ledger.insuranceOf(player.getPlayerNumber()));
+					ledger.addChips(player.getPlayerNumber(), insuranceRefund);
+					if(logger.isDetail()) logger.detail(playerInformation(player) + "はインシュランスの払い戻しで" + insuranceRefund + "を受け取りました。");
 				}
 			}
 			stage = 6;
-			System.out.println();
+			logger.detail("");
 		} else {
-			System.out.println("ディーラーはブラックジャックではありませんでした。");
+			logger.detail("ディーラーはブラックジャックではありませんでした。");
 		}
 	}
 
@@ -574,39 +789,44 @@ public class BlackJackTable extends GameTable {
 	 * プレイヤーのそれぞれの手札に対してそれぞれメッセージを受け取る。
 	 * その後、メッセージの内容に応じて処理するメソッドを呼び出す。
 	 * これらのメソッドは実行可能かどうかを返すので、実行できなかった場合はまたメッセージを受け取る。(numberOfTimesToAcceptWrongMessage)
+	 * 時間内に応答がなかった場合と、間違ったメッセージが続いた場合はスタンドとして扱う。
 	 */
 	public void processPlayersAction() {
 		for(BlackJackPlayer player : players) {
-			if(!allPlayersStatus.get(player.getPlayerNumber()).get(0).contentEquals("PASS")) {
-				String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
+			if(allPlayersStatus.get(player.getPlayerNumber()).get(0) != HandStatus.PASS) {
 				int handNumber = 0;
 				while(handNumber < allPlayersHands.get(player.getPlayerNumber()).size()) {
 					ArrayList<Card> playersHand = allPlayersHands.get(player.getPlayerNumber()).get(handNumber);
+					boolean isCorrectInput = false;
 					for(int i = 0; i < numberOfTimesToAcceptWrongMessage; i++) {
 						if(i > 0) {
-							System.out.println("もう一度アクションを確認します。");
+							logger.detail("もう一度アクションを確認します。");
+						}
+						if(logger.isDetail()) {
+							logger.detail(playerInformation(player) + "のカードは");
+							for(Card card : playersHand) {
+								logger.detail(card.cardInfo());
+							}
+							logger.detail("です。");
 						}
-						System.out.println(currentPlayersInformation + "のカードは");
-						for(Card card : playersHand) {
-							card.printStatus();
+						Decision decision = player.getDecision(handNumber, deadlineOf(DecisionType.ACTION));
+						if(decision == null) {
+							decision = timedOut(player, DecisionType.ACTION);
 						}
-						System.out.println("です。");
-						String playersAction = player.getMessageSplited(handNumber);
-						boolean isCorrectInput = true;
-						switch(playersAction) {
-						case "HIT":
+						switch(decision.action) {
+						case HIT:
 							isCorrectInput = processPlayersHit(player, handNumber);
 							break;
-						case "STAND":
+						case STAND:
 							isCorrectInput = processPlayersStand(player, handNumber);
 							break;
-						case "DOUBLEDOWN":
+						case DOUBLEDOWN:
 							isCorrectInput = processPlayersDoubleDown(player, handNumber);
 							break;
-						case "SPLIT":
+						case SPLIT:
 							isCorrectInput = processPlayersSplit(player, handNumber);
 							break;
-						case "SURRENDER":
+						case SURRENDER:
 							isCorrectInput = processPlayersSurrender(player, handNumber);
 							break;
 						default:
@@ -614,27 +834,18 @@ public class BlackJackTable extends GameTable {
 							break;
 						}
 						if(isCorrectInput) break;
-						try {
-							Thread.sleep(waitingTime);
-						} catch (InterruptedException e) {
-							// TODO 自動生成された catch ブロック
-							e.printStackTrace();
-						}
 					}
-					try {
-						Thread.sleep(waitingTime);
-					} catch (InterruptedException e) {
-						// TODO 自動生成された catch ブロック
-						e.printStackTrace();
+					// 間違った応答が続いた場合も、同じ手札でいつまでも待たないようにスタンドさせる。
+					if(!isCorrectInput) {
+						if(logger.isDetail()) logger.detail(playerInformation(player) + "の応答を受け付けられなかったので、スタンドとして扱います。");
+						processPlayersStand(player, handNumber);
 					}
-					if(		allPlayersStatus.get(player.getPlayerNumber()).get(handNumber).contentEquals("STAND") ||
-							allPlayersStatus.get(player.getPlayerNumber()).get(handNumber).contentEquals("SURRENDER") ||
-							allPlayersStatus.get(player.getPlayerNumber()).get(handNumber).contentEquals("BURST")) {
+					if(BlackJackRules.isHandFinished(allPlayersStatus.get(player.getPlayerNumber()).get(handNumber))) {
 						handNumber++;
 					}
 				}
 			}
-			System.out.println();
+			logger.detail("");
 		}
 	}
 
@@ -649,28 +860,21 @@ public class BlackJackTable extends GameTable {
 	 * @return 正常に動作が行える入力だったかどうか
 	 */
 	private boolean processPlayersHit(BlackJackPlayer player, int handNumber) {
-		String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
-		if(allPlayersHands.get(player.getPlayerNumber()).size() > 1) {
-			currentPlayersInformation += "の手札 " + (handNumber + 1) + " ";
-		}
-		System.out.println(currentPlayersInformation + "はヒットしました。");
-		Card drawCard = gameDeck.drawCard();
-		System.out.println("引いたカードは" + drawCard.cardInfo() + "です。");
+		if(logger.isDetail()) logger.detail(playerInformation(player, handNumber) + "はヒットしました。");
+		Card drawCard = drawCard();
+		if(logger.isDetail()) logger.detail("引いたカードは" + drawCard.cardInfo() + "です。");
 		ArrayList<Card> playersHand = allPlayersHands.get(player.getPlayerNumber()).get(handNumber);
-		playersHand.add(drawCard);
-		int handStrength = culculateHandStrength(playersHand);
-		if(handStrength < 0) {
-			System.out.println(currentPlayersInformation + "はバーストしました。");
-			allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, "BURST");
+		int handState = addCardToPlayersHand(player.getPlayerNumber(), handNumber, drawCard);
+		HandStatus status = BlackJackRules.statusAfterHit(allPlayersStatus.get(player.getPlayerNumber()).get(handNumber), playersHand.get(0).getNumber(), handState);
+		if(status == HandStatus.BURST) {
+			if(logger.isDetail()) logger.detail(playerInformation(player, handNumber) + "はバーストしました。");
 		} else {
-			System.out.println(currentPlayersInformation + "の合計は" + handStrength + "になりました。");
-			if(allPlayersStatus.get(player.getPlayerNumber()).get(handNumber) == "SPLIT" && playersHand.get(0).getNumber() == 1) {
-				System.out.println("エースのスプリットのあとは1回しかヒットできません。");
-				allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, "STAND");
-			} else {
-				allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, "HIT");
+			if(logger.isDetail()) logger.detail(playerInformation(player, handNumber) + "の合計は" + HandValue.strength(handState) + "になりました。");
+			if(status == HandStatus.STAND) {
+				logger.detail("エースのスプリットのあとは1回しかヒットできません。");
 			}
 		}
+		allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, status);
 		return true;
 	}
 
@@ -682,12 +886,8 @@ public class BlackJackTable extends GameTable {
 	 * @return 正常に動作が行える入力だったかどうか
 	 */
 	private boolean processPlayersStand(BlackJackPlayer player, int handNumber) {
-		String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
-		if(allPlayersHands.get(player.getPlayerNumber()).size() > 1) {
-			currentPlayersInformation += "の手札 " + (handNumber + 1) + " ";
-		}
-		System.out.println(currentPlayersInformation + "はスタンドしました。");
-		allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, "STAND");
+		if(logger.isDetail()) logger.detail(playerInformation(player, handNumber) + "はスタンドしました。");
+		allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, HandStatus.STAND);
 		return true;
 	}
 
@@ -695,37 +895,37 @@ public class BlackJackTable extends GameTable {
 	 * プレイヤーのダブルダウン処理。
 	 * プレイヤーのチップが賭金以上のときのみ動作。
 	 * 賭金を倍にし、増加分だけチップを減らす。
-	 * さらに、バーストした場合は playerStatus が BURST になり、そうでない場合は STAND になる。
+	 * さらに1枚だけ引き、バーストした場合は playerStatus が BURST になり、そうでない場合は DOUBLEDOWN になる。
+	 * どちらの場合もその手札の行動は終わり、それ以上カードを引くことはできない。
 	 * @param player 処理を行うプレイヤー
 	 * @param handNumber 手札の番号
 	 * @return 正常に動作が行える入力だったかどうか
 	 */
 	private boolean processPlayersDoubleDown(BlackJackPlayer player, int handNumber) {
-		String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
-		if(handNumber == 0 && allPlayersHands.get(player.getPlayerNumber()).get(0).size() == 2) {
-			int bet = allPlayersBets.get(player.getPlayerNumber()) * 2;
-			int chip = allPlayersChips.get(player.getPlayerNumber()) - (bet / 2);
+		if(BlackJackRules.isFirstAction(handNumber, allPlayersHands.get(player.getPlayerNumber()).get(handNumber).size())) {
+			long bet = ledger.betOf(player.getPlayerNumber());
+			long stake = BlackJackRules.doubleDownStake(bet);
+			long chip = ledger.chipsOf(player.getPlayerNumber()) - stake;
 			if(chip >= 0) {
-				System.out.println(currentPlayersInformation + "はダブルダウンしました。");
-				allPlayersBets.set(player.getPlayerNumber(), bet);
-				Card drawCard = gameDeck.drawCard();
-				System.out.println("引いたカードは" + drawCard.cardInfo() + "です。");
-				allPlayersHands.get(player.getPlayerNumber()).get(handNumber).add(drawCard);
-				int handStrength = culculateHandStrength(allPlayersHands.get(player.getPlayerNumber()).get(handNumber));
-				if(handStrength < 0) {
-					System.out.println(currentPlayersInformation + "はバーストしました。");
-					allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, "BURST");
+				if(logger.isDetail()) logger.detail(playerInformation(player) + "はダブルダウンしました。");
+				ledger.addChips(player.getPlayerNumber(), -stake);
+				ledger.setBet(player.getPlayerNumber(), bet + stake);
+				Card drawCard = drawCard();
+				if(logger.isDetail()) logger.detail("引いたカードは" + drawCard.cardInfo() + "です。");
+				int handState = addCardToPlayersHand(player.getPlayerNumber(), handNumber, drawCard);
+				HandStatus status = BlackJackRules.statusAfterDoubleDown(handState);
+				if(status == HandStatus.BURST) {
+					if(logger.isDetail()) logger.detail(playerInformation(player) + "はバーストしました。");
 				} else {
-					System.out.println(currentPlayersInformation + "の合計は" + handStrength + "になりました。");
-
-					allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, "DOUBLEDOWN");
+					if(logger.isDetail()) logger.detail(playerInformation(player) + "の合計は" + HandValue.strength(handState) + "になりました。");
 				}
+				allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, status);
 			} else {
-				System.out.println("ダブルダウンするためのチップがありません！");
+				logger.detail("ダブルダウンするためのチップがありません！");
 				return false;
 			}
 		} else {
-			System.out.println("最初にしかダブルダウンはできません！");
+			logger.detail("最初にしかダブルダウンはできません！");
 			return false;
 		}
 		return true;
@@ -742,30 +942,37 @@ public class BlackJackTable extends GameTable {
 	 * @return 正常に動作が行える入力だったかどうか
 	 */
 	private boolean processPlayersSplit(BlackJackPlayer player, int handNumber) {
-		String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
 		ArrayList<Card> playersHand1 = allPlayersHands.get(player.getPlayerNumber()).get(handNumber);
-		if(handNumber == 0 && playersHand1.size() == 2) {
+		if(BlackJackRules.isFirstAction(handNumber, playersHand1.size())) {
 			if(canSplit(playersHand1)) {
-				int bet = allPlayersBets.get(player.getPlayerNumber());
-				int chip = allPlayersChips.get(player.getPlayerNumber()) - bet;
+				long bet = ledger.betOf(player.getPlayerNumber());
+				long chip = ledger.chipsOf(player.getPlayerNumber()) - bet;
 				if(chip >= 0) {
-					System.out.println(currentPlayersInformation + "はスプリットしました。");
-					allPlayersChips.set(player.getPlayerNumber(), chip);
-						ArrayList<Card> playersHand2 = new ArrayList<Card>();
-					playersHand2.add(playersHand1.remove(1));
-					allPlayersHands.get(player.getPlayerNumber()).add(playersHand2);
-					allPlayersStatus.get(player.getPlayerNumber()).add("SPLIT");
-					allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, "SPLIT");
+					if(logger.isDetail()) logger.detail(playerInformation(player) + "はスプリットしました。");
+					ledger.addChips(player.getPlayerNumber(), -bet);
+					int seat = player.getPlayerNumber();
+					Card movedCard = playersHand1.remove(1);
+					// 残った1枚から手札の状態を作り直す。
+					allPlayersHandStates.get(seat)[handNumber] = HandValue.next(HandValue.EMPTY, playersHand1.get(0).getNumber());
+					int newHandNumber = allPlayersHands.get(seat).size();
+					allPlayersHands.get(seat).add(new ArrayList<Card>());
+					if(allPlayersHandStates.get(seat).length <= newHandNumber) {
+						allPlayersHandStates.set(seat, Arrays.copyOf(allPlayersHandStates.get(seat), newHandNumber * 2));
+					}
+					allPlayersHandStates.get(seat)[newHandNumber] = HandValue.EMPTY;
+					addCardToPlayersHand(seat, newHandNumber, movedCard);
+					allPlayersStatus.get(player.getPlayerNumber()).add(HandStatus.SPLIT);
+					allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, HandStatus.SPLIT);
 				} else {
-					System.out.println("スプリットするためのチップがありません！");
+					logger.detail("スプリットするためのチップがありません！");
 					return false;
 				}
 			} else {
-				System.out.println("2枚の数字が同じでなければスプリットできません！");
+				logger.detail("2枚の数字が同じでなければスプリットできません！");
 				return false;
 			}
 		} else {
-			System.out.println("最初にしかスプリットはできません！");
+			logger.detail("最初にしかスプリットはできません！");
 			return false;
 		}
 		return true;
@@ -780,16 +987,16 @@ public class BlackJackTable extends GameTable {
 	 * @return 正常に動作が行える入力だったかどうか
 	 */
 	private boolean processPlayersSurrender(BlackJackPlayer player, int handNumber) {
-		String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
-		if(handNumber == 0 && allPlayersHands.get(player.getPlayerNumber()).get(0).size() == 2) {
-			int back = allPlayersBets.get(player.getPlayerNumber()) / 2;
-			int chip = allPlayersChips.get(player.getPlayerNumber()) + back;
-			allPlayersChips.set(player.getPlayerNumber(), chip);
-			System.out.println(currentPlayersInformation + "はサレンダーしました。\n"
-					+ currentPlayersInformation + "に" + back + "が返却されました。");
-			allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, "SURRENDER");
+		if(BlackJackRules.isFirstAction(handNumber, allPlayersHands.get(player.getPlayerNumber()).get(handNumber).size())) {
+			long back = BlackJackRules.surrenderRefund(ledger.betOf(player.getPlayerNumber()));
+			ledger.addChips(player.getPlayerNumber(), back);
+			if(logger.isDetail()) {
+				logger.detail(playerInformation(player) + "はサレンダーしました。");
+				logger.detail(playerInformation(player) + "に" + back + "が返却されました。");
+			}
+			allPlayersStatus.get(player.getPlayerNumber()).set(handNumber, HandStatus.SURRENDER);
 		} else {
-			System.out.println("最初にしかサレンダーはできません！");
+			logger.detail("最初にしかサレンダーはできません！");
 			return false;
 		}
 		return true;
@@ -800,26 +1007,27 @@ public class BlackJackTable extends GameTable {
 	 * ディーラーの伏せカードを公開カードに追加し、その後合計が17以上になるかバーストするまでカードをデッキから引く。
 	 */
 	private void processDealersAction() {
-		dealersOpenCards.add(dealersHiddenCard);
-		System.out.println("ディーラーの手は");
-		for(Card card : dealersOpenCards) {
-			card.printStatus();
+		addCardToDealersOpenCards(dealersHiddenCard);
+		if(logger.isDetail()) {
+			logger.detail("ディーラーの手は");
+			for(Card card : dealersOpenCards) {
+				logger.detail(card.cardInfo());
+			}
+			logger.detail("です。");
 		}
-		System.out.println("です。");
 		Card drawCard;
-		int dealersHandStrength = culculateHandStrength(dealersOpenCards);
-		while(0 < dealersHandStrength && dealersHandStrength < 17) {
-			drawCard = gameDeck.drawCard();
-			System.out.println("ディーラーは" + drawCard.cardInfo() + "を引きました。");
-			dealersOpenCards.add(drawCard);
-			dealersHandStrength = culculateHandStrength(dealersOpenCards);
-		}
-		if(culculateHandStrength(dealersOpenCards) < 0) {
-			System.out.println("ディーラーはバーストしました。");
+		while(BlackJackRules.dealerDraws(dealersHandState)) {
+			drawCard = drawCard();
+			if(logger.isDetail()) logger.detail("ディーラーは" + drawCard.cardInfo() + "を引きました。");
+			addCardToDealersOpenCards(drawCard);
+		}
+		int dealersHandStrength = HandValue.strength(dealersHandState);
+		if(dealersHandStrength < 0) {
+			logger.detail("ディーラーはバーストしました。");
 		} else {
-			System.out.println("ディーラーの合計は" + dealersHandStrength + "です。");
+			if(logger.isDetail()) logger.detail("ディーラーの合計は" + dealersHandStrength + "です。");
 		}
-		System.out.println();
+		logger.detail("");
 	}
 
 	/**
@@ -832,61 +1040,50 @@ public class BlackJackTable extends GameTable {
 	 * プレイヤーがブラックジャックではない場合は賭金の2倍がチップに払い戻される。
 	 */
 	private void processWinningAndLosing() {
-		int dealersHandStrength = culculateHandStrength(dealersOpenCards);
 		for(BlackJackPlayer player : players) {
-			if(!(allPlayersStatus.get(player.getPlayerNumber()).get(0).contentEquals("PASS") || allPlayersStatus.get(player.getPlayerNumber()).get(0).contentEquals("SURRENDER"))) {
+			HandStatus firstHandStatus = allPlayersStatus.get(player.getPlayerNumber()).get(0);
+			if(firstHandStatus != HandStatus.PASS && firstHandStatus != HandStatus.SURRENDER) {
 				int numberOfPlayersHands = allPlayersHands.get(player.getPlayerNumber()).size();
 				for(int handNumber = 0; handNumber < numberOfPlayersHands ; handNumber++){
-					String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
-					if(allPlayersHands.get(player.getPlayerNumber()).size() > 1) {
-						currentPlayersInformation += "の手札 " + (handNumber + 1) + " ";
-					}
-					if(allPlayersStatus.get(player.getPlayerNumber()).get(handNumber).contentEquals("BURST")) {
-						System.out.println(currentPlayersInformation + "はバーストしたので負けました。");
-						System.out.println(currentPlayersInformation + "のチップは " + allPlayersChips.get(player.getPlayerNumber()) + "になりました。");
-					} else {
-						int playersChip = allPlayersChips.get(player.getPlayerNumber());
-						int playersBet = allPlayersBets.get(player.getPlayerNumber());
-						if(dealersHandStrength < 0) {
-							System.out.println("ディーラーがバーストしたので" + currentPlayersInformation + "の勝利です。");
-							playersChip = playersChip + playersBet * 2;
-							allPlayersChips.set(player.getPlayerNumber(), playersChip);
-							System.out.println(currentPlayersInformation + "のチップは " + playersChip + "になりました。");
+					int playersHandState = allPlayersHandStates.get(player.getPlayerNumber())[handNumber];
+					HandOutcome outcome = BlackJackRules.outcome(playersHandState, dealersHandState, numberOfPlayersHands == 1);
+					long playersChip = ledger.addChips(player.getPlayerNumber(), outcome.payout(ledger.betOf(player.getPlayerNumber())));
+					if(logger.isDetail()) {
+						if(HandValue.isBust(playersHandState)) {
+							logger.detail(playerInformation(player, handNumber) + "はバーストしたので負けました。");
+						} else if(HandValue.isBust(dealersHandState)) {
+							logger.detail("ディーラーがバーストしたので" + playerInformation(player, handNumber) + "の勝利です。");
 						} else {
-							ArrayList<Card> playersHand = allPlayersHands.get(player.getPlayerNumber()).get(handNumber);
-							int playersHandStrength = culculateHandStrength(playersHand);
-							System.out.println("ディーラーの合計は " + dealersHandStrength + " で、" + currentPlayersInformation +
-									"の合計は " + playersHandStrength + " です。");
-							if(dealersHandStrength > playersHandStrength) {
-								System.out.println(currentPlayersInformation + "は負けました。");
-								System.out.println(currentPlayersInformation + "のチップは " + playersChip + "になりました。");
-							} else if(dealersHandStrength == playersHandStrength) {
-								System.out.println(currentPlayersInformation + "は引き分けです。");
-								playersChip = playersChip + playersBet;
-								allPlayersChips.set(player.getPlayerNumber(), playersChip);
-								System.out.println(currentPlayersInformation + "のチップは " + playersChip + "になりました。");
-							} else if(playersHandStrength == 21 && allPlayersHands.get(player.getPlayerNumber()).size() == 1 && playersHand.size() == 2){
-								System.out.println(currentPlayersInformation + "はブラックジャックで勝利しました。");
-								playersChip = playersChip + playersBet * 5 / 2;
-								allPlayersChips.set(player.getPlayerNumber(), playersChip);
-								System.out.println(currentPlayersInformation + "のチップは " + playersChip + "になりました。");
-							} else {
-								System.out.println(currentPlayersInformation + "は勝利しました。");
-								playersChip = playersChip + playersBet * 2;
-								allPlayersChips.set(player.getPlayerNumber(), playersChip);
-								System.out.println(currentPlayersInformation + "のチップは " + playersChip + "になりました。");
+							logger.detail("ディーラーの合計は " + HandValue.strength(dealersHandState) + " で、" + playerInformation(player, handNumber) +
+									"の合計は " + HandValue.strength(playersHandState) + " です。");
+							switch(outcome) {
+							case LOSE:
+								logger.detail(playerInformation(player, handNumber) + "は負けました。");
+								break;
+							case PUSH:
+								logger.detail(playerInformation(player, handNumber) + "は引き分けです。");
+								break;
+							case BLACKJACK:
+								logger.detail(playerInformation(player, handNumber) + "はブラックジャックで勝利しました。");
+								break;
+							default:
+								logger.detail(playerInformation(player, handNumber) + "は勝利しました。");
+								break;
 							}
 						}
+						logger.detail(playerInformation(player, handNumber) + "のチップは " + playersChip + "になりました。");
 					}
 				}
 			}
-			System.out.println();
+			logger.detail("");
 		}
-		for(BlackJackPlayer player : players) {
-			String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
-			System.out.println(currentPlayersInformation + " : " + allPlayersChips.get(player.getPlayerNumber()));
+		if(logger.isSummary()) {
+			logger.summary("Game " + gameNumber);
+			for(BlackJackPlayer player : players) {
+				logger.summary(playerInformation(player) + " : " + ledger.chipsOf(player.getPlayerNumber()));
+			}
+			logger.summary("");
 		}
-		System.out.println();
 	}
 
 	/**
@@ -897,62 +1094,116 @@ public class BlackJackTable extends GameTable {
 	private void checkNextGame() {
 		boolean allPlayersPassed = true;
 		for(BlackJackPlayer player : players) {
-			try {
-				Thread.sleep(waitingTime);
-			} catch (InterruptedException e) {
-				// TODO 自動生成された catch ブロック
-				e.printStackTrace();
-			}
-			String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
-			System.out.println(currentPlayersInformation + "のゲーム終了を確認します。");
-			if(allPlayersChips.get(player.getPlayerNumber()) < minimumBet) {
+			if(logger.isDetail()) logger.detail(playerInformation(player) + "のゲーム終了を確認します。");
+			if(ledger.chipsOf(player.getPlayerNumber()) < minimumBet) {
 				hasNextGame = false;
 			} else {
-				String playersAction = player.getMessage();
-				if(playersAction.contentEquals("END")) {
+				Decision decision = player.getDecision(0, deadlineOf(DecisionType.CONTINUE));
+				if(decision == null) {
+					decision = timedOut(player, DecisionType.CONTINUE);
+				}
+				if(decision.action == PlayerAction.END) {
 					hasNextGame = false;
 				}
-				if(!allPlayersStatus.get(player.getPlayerNumber()).get(0).contentEquals("PASS")) allPlayersPassed = false;
+				if(allPlayersStatus.get(player.getPlayerNumber()).get(0) != HandStatus.PASS) allPlayersPassed = false;
 			}
 
-			if(allPlayersStatus.get(player.getPlayerNumber()).get(0).contentEquals("INITIALIZED")) hasNextGame = false;
+			if(allPlayersStatus.get(player.getPlayerNumber()).get(0) == HandStatus.INITIALIZED) hasNextGame = false;
 
-			System.out.println();
+			logger.detail("");
 		}
 		if(allPlayersPassed) hasNextGame = false;
 		if(this.gameNumber >= maxGameNumber) hasNextGame = false;
 
 		if(hasNextGame) {
-			System.out.println("次のゲームが開始できます。");
+			logger.detail("次のゲームが開始できます。");
 		} else {
-			System.out.println("次のゲームはありません。");
-			System.out.println("\nー最終結果ー");
-			for(BlackJackPlayer player : players) {
-				String currentPlayersInformation = player.getName() + "(" + player.getPlayerNumber() + ")";
-				System.out.println(currentPlayersInformation + " : " + allPlayersChips.get(player.getPlayerNumber()));
+			if(logger.isSummary()) {
+				logger.summary("次のゲームはありません。");
+				logger.summary("");
+				logger.summary("ー最終結果ー");
+				for(BlackJackPlayer player : players) {
+					logger.summary(playerInformation(player) + " : " + ledger.chipsOf(player.getPlayerNumber()));
+				}
 			}
 		}
 	}
 
+	/**
+	 * ログに出すプレイヤーの情報（名前と番号）の文字列を作る。
+	 * @param player プレイヤー
+	 * @return プレイヤーの情報
+	 */
+	private String playerInformation(BlackJackPlayer player) {
+		return player.getName() + "(" + player.getPlayerNumber() + ")";
+	}
+
+	/**
+	 * ログに出すプレイヤーの手札の情報の文字列を作る。
+	 * スプリットして手札が複数ある場合は手札の番号を付ける。
+	 * @param player プレイヤー
+	 * @param handNumber 手札の番号
+	 * @return プレイヤーの手札の情報
+	 */
+	private String playerInformation(BlackJackPlayer player, int handNumber) {
+		if(allPlayersHands.get(player.getPlayerNumber()).size() > 1) {
+			return playerInformation(player) + "の手札 " + (handNumber + 1) + " ";
+		}
+		return playerInformation(player);
+	}
+
+	/**
+	 * プレイヤーの手札にカードを1枚加え、手札の状態を更新する。
+	 * @param seat プレイヤー番号
+	 * @param handNumber 手札の番号
+	 * @param card 加えるカード
+	 * @return 更新後の HandValue の状態
+	 */
+	private int addCardToPlayersHand(int seat, int handNumber, Card card) {
+		allPlayersHands.get(seat).get(handNumber).add(card);
+		int[] handStates = allPlayersHandStates.get(seat);
+		handStates[handNumber] = HandValue.next(handStates[handNumber], card.getNumber());
+		return handStates[handNumber];
+	}
+
+	/**
+	 * ディーラーの公開カードにカードを1枚加え、ディーラーの手の状態を更新する。
+	 * @param card 加えるカード
+	 * @return 更新後の HandValue の状態
+	 */
+	private int addCardToDealersOpenCards(Card card) {
+		dealersOpenCards.add(card);
+		dealersHandState = HandValue.next(dealersHandState, card.getNumber());
+		return dealersHandState;
+	}
+
 	/**
 	 * 手札の強さの点数を返す静的メソッド。
+	 * 手札を先頭から HandValue に通して求める。テーブルの中では手札ごとに状態を持っているので、これは外部向けの互換用。
 	 * @param hand 手札
 	 * @return 強さの値
 	 */
-	public static int culculateHandStrength(ArrayList<Card> hand) {
-		int strength = 0;
-		boolean containsAce = false;
-		for(Card card : hand) {
-			int cardNumber = card.getNumber();
-			if(cardNumber > 10) cardNumber = 10;
-			strength += cardNumber;
-			if(cardNumber == 1) containsAce = true;
+	public static int culculateHandStrength(List<Card> hand) {
+		int state = HandValue.EMPTY;
+		// イテレータを作らないように添字で回す。
+		for(int i = 0; i < hand.size(); i++) {
+			state = HandValue.next(state, hand.get(i).getNumber());
 		}
-		if(strength < 12 && containsAce) {
-			strength += 10;
+		return HandValue.strength(state);
+	}
+
+	/**
+	 * int の符号で表した手札の強さの点数を返す静的メソッド。
+	 * culculateHandStrength(List&lt;Card&gt;) と同じ値を返す。
+	 * @param hand 手札
+	 * @return 強さの値
+	 */
+	public static int culculateHandStrength(IntHand hand) {
+		int state = HandValue.EMPTY;
+		for(int i = 0; i < hand.size(); i++) {
+			state = HandValue.next(state, hand.numberAt(i));
 		}
-		if(strength > 21) strength = -1;
-		return strength;
+		return HandValue.strength(state);
 	}
 
 	/**
@@ -960,12 +1211,17 @@ public class BlackJackTable extends GameTable {
 	 * @param hand 手札
 	 * @return スプリットできるなら true できないなら false
 	 */
-	public static boolean canSplit(ArrayList<Card> hand) {
-		int hand1 = hand.get(0).getNumber();
-		int hand2 = hand.get(1).getNumber();
-		if(hand1 > 10) hand1 = 10;
-		if(hand2 > 10) hand2 = 10;
-		return hand1 == hand2;
+	public static boolean canSplit(List<Card> hand) {
+		return BlackJackRules.isSplittablePair(hand.get(0).getNumber(), hand.get(1).getNumber());
+	}
+
+	/**
+	 * int の符号で表した手札がスプリットできるかどうかを判別する静的メソッド。
+	 * @param hand 手札
+	 * @return スプリットできるなら true できないなら false
+	 */
+	public static boolean canSplit(IntHand hand) {
+		return BlackJackRules.isSplittablePair(hand.numberAt(0), hand.numberAt(1));
 	}
 
 
@@ -0,0 +1,368 @@
+package blackJack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import system.core.LogLevel;
+
+/**
+ * CUIを使わずにブラックジャックのテーブルを作るための設定。
+ * 各 set メソッドは自分自身を返すので、続けて書くことができる。
+ * 値の範囲はCUIでの設定と同じで、範囲外の値は IllegalArgumentException になる。
+ * <pre>
+ * BlackJackTable table = new BlackJackTable(new BlackJackTableConfig()
+ * 		.setNumberOfDecks(6)
+ * 		.setMaxGameNumber(1000)
+ * 		.addSeat("alice", "BasicAIPlayer")
+ * 		.addSeat("bob", "IrAi"));
+ * </pre>
+ * @author Takashi Sakakihara
+ *
+ */
+public class BlackJackTableConfig {
+	/**
+	 * プレイヤーの応答を待つ時間の上限の既定値（ミリ秒）。応答の種類によらない。
+	 */
+	public static final long DEFAULT_DECISION_TIMEOUT_MILLIS = 60_000;
+	/**
+	 * プレイヤーの応答を待つ時間の上限として設定できる最大値（ミリ秒）。1日。
+	 */
+	public static final long MAX_DECISION_TIMEOUT_MILLIS = 86_400_000;
+	/**
+	 * 使用するトランプのデッキ数。
+	 */
+	private int numberOfDecks = 1;
+	/**
+	 * プレイヤーの初期チップ。
+	 */
+	private int initialPlayerChips = 1000;
+	/**
+	 * 最低賭金。
+	 */
+	private int minimumBet = 10;
+	/**
+	 * 最大ゲーム数。
+	 */
+	private int maxGameNumber = Integer.MAX_VALUE;
+	/**
+	 * カットカードの位置（ペネトレーション）。
+	 */
+	private double penetration = 0.6;
+	/**
+	 * 山札に RankCountShoe を使うかどうか。
+	 */
+	private boolean useRankCountShoe = false;
+	/**
+	 * 山札（CardDeck）を遅延シャッフルにするかどうか。
+	 */
+	private boolean lazyShuffle = false;
+	/**
+	 * 山札の乱数のシードを指定したかどうか。
+	 */
+	private boolean hasSeed = false;
+	/**
+	 * 山札の乱数のシード。
+	 */
+	private long seed;
+	/**
+	 * ログの詳しさ。
+	 */
+	private LogLevel logLevel = LogLevel.SILENT;
+	/**
+	 * 応答の種類ごとの、プレイヤーの応答を待つ時間の上限（ミリ秒）。添字は DecisionType の ordinal()。
+	 */
+	private final long[] decisionTimeoutMillis = defaultDecisionTimeouts();
+	/**
+	 * 席に着くプレイヤーの名前。
+	 */
+	private final List<String> seatNames = new ArrayList<String>();
+	/**
+	 * 席に着くプレイヤーの（コントローラーの）種類。
+	 */
+	private final List<String> seatTypes = new ArrayList<String>();
+
+	/**
+	 * 使用するトランプのデッキ数を設定する。
+	 * @param numberOfDecks デッキ数（1～8）
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setNumberOfDecks(int numberOfDecks) {
+		checkRange("デッキ数", numberOfDecks, 1, 8);
+		this.numberOfDecks = numberOfDecks;
+		return this;
+	}
+
+	/**
+	 * プレイヤーの初期チップを設定する。
+	 * @param initialPlayerChips 初期チップ（100～10000）
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setInitialPlayerChips(int initialPlayerChips) {
+		checkRange("初期チップ", initialPlayerChips, 100, 10000);
+		this.initialPlayerChips = initialPlayerChips;
+		return this;
+	}
+
+	/**
+	 * 最低賭金を設定する。
+	 * @param minimumBet 最低賭金（1～100）
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setMinimumBet(int minimumBet) {
+		checkRange("最低賭金", minimumBet, 1, 100);
+		this.minimumBet = minimumBet;
+		return this;
+	}
+
+	/**
+	 * 最大ゲーム数を設定する。
+	 * @param maxGameNumber 最大ゲーム数（1以上）
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setMaxGameNumber(int maxGameNumber) {
+		checkRange("最大ゲーム数", maxGameNumber, 1, Integer.MAX_VALUE);
+		this.maxGameNumber = maxGameNumber;
+		return this;
+	}
+
+	/**
+	 * カットカードの位置（ペネトレーション）を設定する。
+	 * @param penetration 山札をシャッフルし直すまでに配るカードの割合（0より大きく1未満）
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setPenetration(double penetration) {
+		if(!(0.0 < penetration && penetration < 1.0)) {
+			throw new IllegalArgumentException("ペネトレーションは0より大きく1未満で設定してください。 : " + penetration);
+		}
+		this.penetration = penetration;
+		return this;
+	}
+
+	/**
+	 * 山札にカードの実体を持たない RankCountShoe を使うかどうかを設定する。
+	 * @param useRankCountShoe RankCountShoe を使うなら true
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setUseRankCountShoe(boolean useRankCountShoe) {
+		this.useRankCountShoe = useRankCountShoe;
+		return this;
+	}
+
+	/**
+	 * 山札（CardDeck）を遅延シャッフルにするかどうかを設定する。
+	 * RankCountShoe を使う場合は関係ない。
+	 * @param lazyShuffle 遅延シャッフルにするなら true
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setLazyShuffle(boolean lazyShuffle) {
+		this.lazyShuffle = lazyShuffle;
+		return this;
+	}
+
+	/**
+	 * 山札の乱数のシードを設定する。
+	 * 同じシードと同じ席の構成なら、同じゲームが再現される。
+	 * @param seed 乱数のシード
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setSeed(long seed) {
+		this.hasSeed = true;
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * ログの詳しさを設定する。既定は SILENT。
+	 * @param logLevel ログの詳しさ
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setLogLevel(LogLevel logLevel) {
+		if(logLevel == null) {
+			throw new IllegalArgumentException("ログの詳しさが null です。");
+		}
+		this.logLevel = logLevel;
+		return this;
+	}
+
+	/**
+	 * 応答の種類ごとに、プレイヤーの応答を待つ時間の上限を設定する。既定は60秒。
+	 * 時間内に応答しなかったプレイヤーには、賭金なら最低賭金、インシュランスならしない、行動ならスタンド、
+	 * 次のゲームの参加意思なら終了を適用し、時間切れとして記録する。
+	 * 次のゲームの参加意思で時間切れになるとテーブルは終了するので、応答しないコントローラーがテーブルを使い続けることはない。
+	 * 賭金とインシュランスは全員に同時に求めるので、この時間は全員で1つの締め切りになる。
+	 * BlackJackTable のスレッドの上で直接応答するAIは計算だけで応答するので、この上限の対象にならない。
+	 * @param type 応答の種類
+	 * @param timeoutMillis 応答を待つ時間の上限（ミリ秒、1～86400000）
+	 * @return この設定
+	 */
+	public BlackJackTableConfig setDecisionTimeoutMillis(DecisionType type, long timeoutMillis) {
+		if(type == null) {
+			throw new IllegalArgumentException("応答の種類が null です。");
+		}
+		if(timeoutMillis < 1 || MAX_DECISION_TIMEOUT_MILLIS < timeoutMillis) {
+			throw new IllegalArgumentException(type + "の応答を待つ時間は1～" + MAX_DECISION_TIMEOUT_MILLIS + "ミリ秒で設定してください。 : " + timeoutMillis);
+		}
+		this.decisionTimeoutMillis[type.ordinal()] = timeoutMillis;
+		return this;
+	}
+
+	/**
+	 * 全ての応答の種類について、プレイヤーの応答を待つ時間の上限を既定値にした配列を作る。
+	 * @return 添字が DecisionType の ordinal() の配列
+	 */
+	static long[] defaultDecisionTimeouts() {
+		long[] timeouts = new long[DecisionType.values().length];
+		Arrays.fill(timeouts, DEFAULT_DECISION_TIMEOUT_MILLIS);
+		return timeouts;
+	}
+
+	/**
+	 * 席を1つ追加する。席は追加した順にプレイヤー番号が振られる。
+	 * CUIを使わないので、人間のプレイヤー（ManualPlayer）は追加できない。
+	 * @param playerName プレイヤーの名前
+	 * @param playerType プレイヤーの（コントローラーの）種類。BlackJackPlayer で定義された文字列（"BasicAIPlayer"、"IrAi" など）
+	 * @return この設定
+	 */
+	public BlackJackTableConfig addSeat(String playerName, String playerType) {
+		if(seatNames.size() >= 7) {
+			throw new IllegalArgumentException("席は7つまでです。");
+		}
+		if(playerName == null || playerName.isEmpty()) {
+			throw new IllegalArgumentException("プレイヤー" + seatNames.size() + "の名前が空です。");
+		}
+		if(!"BasicAIPlayer".equals(playerType) && !"IrAi".equals(playerType)) {
+			throw new IllegalArgumentException("CUIを使わないテーブルには、このプレイヤーの種類は追加できません。 : " + playerType);
+		}
+		seatNames.add(playerName);
+		seatTypes.add(playerType);
+		return this;
+	}
+
+	/**
+	 * 設定した値の範囲を確認する。
+	 * @param name 設定の名前
+	 * @param value 設定した値
+	 * @param min 最小値
+	 * @param max 最大値
+	 */
+	private static void checkRange(String name, int value, int min, int max) {
+		if(value < min || max < value) {
+			throw new IllegalArgumentException(name + "は" + min + "～" + max + "で設定してください。 : " + value);
+		}
+	}
+
+	/**
+	 * 使用するトランプのデッキ数を取得する。
+	 * @return デッキ数
+	 */
+	public int getNumberOfDecks() {
+		return numberOfDecks;
+	}
+
+	/**
+	 * プレイヤーの初期チップを取得する。
+	 * @return 初期チップ
+	 */
+	public int getInitialPlayerChips() {
+		return initialPlayerChips;
+	}
+
+	/**
+	 * 最低賭金を取得する。
+	 * @return 最低賭金
+	 */
+	public int getMinimumBet() {
+		return minimumBet;
+	}
+
+	/**
+	 * 最大ゲーム数を取得する。
+	 * @return 最大ゲーム数
+	 */
+	public int getMaxGameNumber() {
+		return maxGameNumber;
+	}
+
+	/**
+	 * カットカードの位置（ペネトレーション）を取得する。
+	 * @return 山札をシャッフルし直すまでに配るカードの割合
+	 */
+	public double getPenetration() {
+		return penetration;
+	}
+
+	/**
+	 * 山札に RankCountShoe を使うかどうかを取得する。
+	 * @return RankCountShoe を使うなら true
+	 */
+	public boolean isUseRankCountShoe() {
+		return useRankCountShoe;
+	}
+
+	/**
+	 * 山札を遅延シャッフルにするかどうかを取得する。
+	 * @return 遅延シャッフルにするなら true
+	 */
+	public boolean isLazyShuffle() {
+		return lazyShuffle;
+	}
+
+	/**
+	 * 山札の乱数のシードを指定したかどうかを取得する。
+	 * @return シードを指定したなら true
+	 */
+	public boolean hasSeed() {
+		return hasSeed;
+	}
+
+	/**
+	 * 山札の乱数のシードを取得する。
+	 * @return 乱数のシード
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * ログの詳しさを取得する。
+	 * @return ログの詳しさ
+	 */
+	public LogLevel getLogLevel() {
+		return logLevel;
+	}
+
+	/**
+	 * 応答の種類ごとの、プレイヤーの応答を待つ時間の上限を取得する。
+	 * @param type 応答の種類
+	 * @return 応答を待つ時間の上限（ミリ秒）
+	 */
+	public long getDecisionTimeoutMillis(DecisionType type) {
+		return decisionTimeoutMillis[type.ordinal()];
+	}
+
+	/**
+	 * 席の数を取得する。
+	 * @return 席の数
+	 */
+	public int getNumberOfSeats() {
+		return seatNames.size();
+	}
+
+	/**
+	 * 席に着くプレイヤーの名前を取得する。
+	 * @return プレイヤーの名前の変更できないリスト
+	 */
+	public List<String> getSeatNames() {
+		return Collections.unmodifiableList(seatNames);
+	}
+
+	/**
+	 * 席に着くプレイヤーの（コントローラーの）種類を取得する。
+	 * @return プレイヤーの種類の変更できないリスト
+	 */
+	public List<String> getSeatTypes() {
+		return Collections.unmodifiableList(seatTypes);
+	}
+}
@@ -0,0 +1,100 @@
+package blackJack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import system.core.GameExecutors;
+
+/**
+ * 複数のブラックジャックのテーブルを、決まった数のワーカースレッドで同時に動かすエンジン。
+ * テーブルはそれぞれ独立に設定して submit() で投入する。
+ * AIだけのテーブルはワーカーのスレッドの上で完結するので、ワーカー数をコア数にすればほぼコア数に比例して処理量が伸びる。
+ * @author Takashi Sakakihara
+ *
+ */
+public class BlackJackTableEngine {
+	/**
+	 * テーブルを動かすワーカーのスレッドプール。
+	 */
+	private final ExecutorService workers;
+	/**
+	 * 投入されたテーブル。
+	 */
+	private final List<BlackJackTable> tables = new ArrayList<BlackJackTable>();
+	/**
+	 * shutdown() が呼ばれたかどうか。呼ばれた後はテーブルを投入できない。
+	 */
+	private boolean shutdown = false;
+
+	/**
+	 * コア数と同じ数のワーカーで動かすコンストラクタ。
+	 */
+	public BlackJackTableEngine() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * ワーカー数を指定するコンストラクタ。
+	 * @param numberOfWorkers 同時にテーブルを動かすスレッドの数
+	 */
+	public BlackJackTableEngine(int numberOfWorkers) {
+		this.workers = Executors.newFixedThreadPool(numberOfWorkers, GameExecutors.daemonThreadFactory("blackjack-table"));
+	}
+
+	/**
+	 * 設定済みのテーブルを投入して開始する。
+	 * ワーカーが空いていない場合は、空くまで待ってから開始される。
+	 * 開始できたテーブルだけを awaitAll() で待つ対象にする。
+	 * @param table 設定済みのテーブル
+	 * @throws IllegalStateException shutdown() の後に投入したときの例外
+	 */
+	public synchronized void submit(BlackJackTable table) {
+		if(shutdown) {
+			throw new IllegalStateException("エンジンは終了しています。");
+		}
+		table.start(workers);
+		tables.add(table);
+	}
+
+	/**
+	 * 投入された全てのテーブルが終了するまで待ち、結果を集計して返す。
+	 * 例外で終了したテーブルも結果に含め、その結果の isFailed() と集計の getNumberOfFailedTables() で知らせる。
+	 * @return 全てのテーブルの結果の集計
+	 * @throws InterruptedException 待っている間に割り込まれたときの例外
+	 */
+	public BlackJackEngineResult awaitAll() throws InterruptedException {
+		List<BlackJackTable> submittedTables;
+		synchronized(this) {
+			submittedTables = new ArrayList<BlackJackTable>(tables);
+		}
+		List<BlackJackTableResult> results = new ArrayList<BlackJackTableResult>(submittedTables.size());
+		for(BlackJackTable table : submittedTables) {
+			table.join();
+			results.add(table.getResult());
+		}
+		return new BlackJackEngineResult(results);
+	}
+
+	/**
+	 * エンジンを終了する。
+	 * 全てのテーブルに停止を要求し、進行中のゲームが終わってプレイヤーの stop() が呼ばれるまで待ってから結果を返す。
+	 * まだ開始されていないテーブルは、開始直後に停止する。
+	 * @return 全てのテーブルの結果の集計
+	 * @throws InterruptedException 待っている間に割り込まれたときの例外
+	 */
+	public BlackJackEngineResult shutdown() throws InterruptedException {
+		synchronized(this) {
+			shutdown = true;
+			for(BlackJackTable table : tables) {
+				table.requestStop();
+			}
+		}
+		BlackJackEngineResult result = awaitAll();
+		workers.shutdown();
+		workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		return result;
+	}
+}
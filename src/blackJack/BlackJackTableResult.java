@@ -0,0 +1,142 @@
+package blackJack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 1つのブラックジャックのテーブルの結果を表す不変クラス。
+ * @author Takashi Sakakihara
+ *
+ */
+public final class BlackJackTableResult {
+	/**
+	 * 行ったゲーム数。
+	 */
+	private final int gamesPlayed;
+	/**
+	 * プレイヤーの名前。
+	 */
+	private final List<String> playerNames;
+	/**
+	 * プレイヤーの初期チップ。
+	 */
+	private final long initialChips;
+	/**
+	 * プレイヤーの最終的なチップ。
+	 */
+	private final long[] finalChips;
+	/**
+	 * プレイヤーごと、応答の種類ごとの時間切れの回数。添字は [プレイヤー番号][DecisionType の ordinal()]。
+	 */
+	private final long[][] timeouts;
+	/**
+	 * テーブルが例外で終了した場合のその例外。正常に終了した場合は null。
+	 */
+	private final Throwable failure;
+
+	/**
+	 * コンストラクタ。
+	 * @param gamesPlayed 行ったゲーム数
+	 * @param playerNames プレイヤーの名前
+	 * @param initialChips プレイヤーの初期チップ
+	 * @param finalChips プレイヤーの最終的なチップ
+	 * @param timeouts プレイヤーごと、応答の種類ごとの時間切れの回数
+	 * @param failure テーブルが例外で終了した場合のその例外。正常に終了した場合は null
+	 */
+	public BlackJackTableResult(int gamesPlayed, List<String> playerNames, long initialChips, long[] finalChips, long[][] timeouts,
+			Throwable failure) {
+		this.gamesPlayed = gamesPlayed;
+		this.playerNames = Collections.unmodifiableList(new ArrayList<String>(playerNames));
+		this.initialChips = initialChips;
+		this.finalChips = finalChips.clone();
+		this.timeouts = new long[timeouts.length][];
+		for(int i = 0; i < timeouts.length; i++) {
+			this.timeouts[i] = timeouts[i].clone();
+		}
+		this.failure = failure;
+	}
+
+	/**
+	 * テーブルが例外で途中で終了したかどうか。
+	 * その場合、ゲーム数やチップは例外が出た時点のものになる。
+	 * @return 例外で終了したなら true
+	 */
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	/**
+	 * テーブルが例外で終了した場合の、その例外を取得する。
+	 * @return 例外。正常に終了した場合は null
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	/**
+	 * 行ったゲーム数を取得する。
+	 * @return ゲーム数
+	 */
+	public int getGamesPlayed() {
+		return gamesPlayed;
+	}
+
+	/**
+	 * プレイヤーの人数を取得する。
+	 * @return プレイヤーの人数
+	 */
+	public int getNumberOfPlayers() {
+		return finalChips.length;
+	}
+
+	/**
+	 * プレイヤーの名前を取得する。
+	 * @param playerNumber プレイヤー番号
+	 * @return プレイヤーの名前
+	 */
+	public String getPlayerName(int playerNumber) {
+		return playerNames.get(playerNumber);
+	}
+
+	/**
+	 * プレイヤーの最終的なチップを取得する。
+	 * @param playerNumber プレイヤー番号
+	 * @return 最終的なチップ
+	 */
+	public long getFinalChips(int playerNumber) {
+		return finalChips[playerNumber];
+	}
+
+	/**
+	 * プレイヤーの初期チップからの増減を取得する。
+	 * @param playerNumber プレイヤー番号
+	 * @return チップの増減
+	 */
+	public long getChipsDifference(int playerNumber) {
+		return finalChips[playerNumber] - initialChips;
+	}
+
+	/**
+	 * プレイヤーが応答の種類 type で時間内に応答しなかった回数を取得する。
+	 * @param playerNumber プレイヤー番号
+	 * @param type 応答の種類
+	 * @return 時間切れの回数
+	 */
+	public long getTimeouts(int playerNumber, DecisionType type) {
+		return timeouts[playerNumber][type.ordinal()];
+	}
+
+	/**
+	 * プレイヤーが時間内に応答しなかった回数を、全ての応答の種類について合計して取得する。
+	 * @param playerNumber プレイヤー番号
+	 * @return 時間切れの回数
+	 */
+	public long getTimeouts(int playerNumber) {
+		long total = 0;
+		for(long count : timeouts[playerNumber]) {
+			total += count;
+		}
+		return total;
+	}
+}
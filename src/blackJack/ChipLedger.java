@@ -0,0 +1,136 @@
+package blackJack;
+
+import java.util.Arrays;
+
+/**
+ * 全プレイヤーのチップ、賭金、インシュランスを席ごとに long の配列で持つ台帳。
+ * 値をボクシングしないので、精算のたびに Integer を作ることがない。
+ * 長いセッションでも int の範囲を超えないように long で持つ。
+ * 値を変更するメソッドは BlackJackTable だけが使うのでパッケージプライベートにしている。
+ * @author Takashi Sakakihara
+ */
+public final class ChipLedger {
+	/**
+	 * 全プレイヤーのチップ。
+	 */
+	private long[] chips = new long[7];
+	/**
+	 * 全プレイヤーの賭金。
+	 */
+	private long[] bets = new long[7];
+	/**
+	 * 全プレイヤーのインシュランス。
+	 */
+	private long[] insurance = new long[7];
+	/**
+	 * 席の数。
+	 */
+	private int numberOfSeats = 0;
+
+	/**
+	 * 席を1つ追加する。
+	 * @param initialChips その席のプレイヤーの初期チップ
+	 * @return 追加した席の番号
+	 */
+	int addSeat(long initialChips) {
+		if(numberOfSeats == chips.length) {
+			int newLength = chips.length * 2;
+			chips = Arrays.copyOf(chips, newLength);
+			bets = Arrays.copyOf(bets, newLength);
+			insurance = Arrays.copyOf(insurance, newLength);
+		}
+		int seat = numberOfSeats++;
+		chips[seat] = initialChips;
+		bets[seat] = 0;
+		insurance[seat] = 0;
+		return seat;
+	}
+
+	/**
+	 * 新しいゲームのために全ての席の賭金とインシュランスを0にする。
+	 */
+	void clearRound() {
+		Arrays.fill(bets, 0, numberOfSeats, 0);
+		Arrays.fill(insurance, 0, numberOfSeats, 0);
+	}
+
+	/**
+	 * プレイヤーのチップを増減させる。
+	 * @param seat プレイヤー番号
+	 * @param amount 増減させる量（減らす場合は負の値）
+	 * @return 増減させた後のチップ
+	 */
+	long addChips(int seat, long amount) {
+		checkSeat(seat);
+		chips[seat] += amount;
+		return chips[seat];
+	}
+
+	/**
+	 * プレイヤーの賭金を設定する。チップは変化しない。
+	 * @param seat プレイヤー番号
+	 * @param bet 賭金
+	 */
+	void setBet(int seat, long bet) {
+		checkSeat(seat);
+		bets[seat] = bet;
+	}
+
+	/**
+	 * プレイヤーのインシュランスを設定する。チップは変化しない。
+	 * @param seat プレイヤー番号
+	 * @param amount インシュランス
+	 */
+	void setInsurance(int seat, long amount) {
+		checkSeat(seat);
+		insurance[seat] = amount;
+	}
+
+	/**
+	 * 席の数を取得する。
+	 * @return 席の数
+	 */
+	public int getNumberOfSeats() {
+		return numberOfSeats;
+	}
+
+	/**
+	 * プレイヤーのチップを取得する。
+	 * @param seat プレイヤー番号
+	 * @return チップ
+	 */
+	public long chipsOf(int seat) {
+		checkSeat(seat);
+		return chips[seat];
+	}
+
+	/**
+	 * プレイヤーの賭金を取得する。
+	 * @param seat プレイヤー番号
+	 * @return 賭金
+	 */
+	public long betOf(int seat) {
+		checkSeat(seat);
+		return bets[seat];
+	}
+
+	/**
+	 * プレイヤーのインシュランスを取得する。
+	 * @param seat プレイヤー番号
+	 * @return インシュランス
+	 */
+	public long insuranceOf(int seat) {
+		checkSeat(seat);
+		return insurance[seat];
+	}
+
+	/**
+	 * 席の番号が範囲内か確認する。
+	 * @param seat プレイヤー番号
+	 */
+	private void checkSeat(int seat) {
+		if(seat < 0 || numberOfSeats <= seat) {
+			throw new IndexOutOfBoundsException("Seat " + seat + " out of bounds for " + numberOfSeats + " seats");
+		}
+	}
+}
@@ -1,15 +1,18 @@
 package blackJack;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import system.core.Card;
-import system.core.CardDeck;
+import system.core.CardShoe;
 import system.core.VisualizerOnCUI;
 
 /**
  * ゲームの公開情報のクラス。
  * ゲームシステムとプレイヤーの情報共有のために使用する。
  * ほとんどの情報はシャローコピーのため、元のデータが変更されると自動的にこちらも変更される。
+ * 読むだけの場合は、コピーを返す get...Copy() よりも snapshot() で変更できないスナップショットを取得する方がよい。
  * @author Takashi Sakakihara
  */
 public final class CommonInformation implements VisualizerOnCUI {
@@ -28,35 +31,39 @@ public final class CommonInformation implements VisualizerOnCUI {
 	/**
 	 * ゲームで使用する山札。シャローコピー。
 	 */
-	private CardDeck gameDeck;
+	private CardShoe gameDeck;
 	/**
 	 * 全プレイヤーの名前。シャローコピー。
 	 */
 	private ArrayList<String> playerNames;
 	/**
-	 * 全プレイヤーのチップ。シャローコピー。
+	 * 全プレイヤーのチップ、賭金、インシュランスの台帳。シャローコピー。
 	 */
-	private ArrayList<Integer> allPlayersChips;
+	private ChipLedger ledger;
 	/**
 	 * 全プレイヤーの全ての手札（スプリットして増えたものを含む）。シャローコピー。
 	 */
 	private ArrayList<ArrayList<ArrayList<Card>>> allPlayersHands;
 	/**
-	 * 全てのプレイヤーの賭金。シャローコピー。
+	 * 全プレイヤーの全ての手札の HandValue の状態。シャローコピー。
 	 */
-	private ArrayList<Integer> allPlayersBets;
+	private ArrayList<int[]> allPlayersHandStates;
 	/**
 	 * 全てのプレイヤーの全ての手札（スプリットした場合のみ増える）における状態。シャローコピー。
 	 */
-	private ArrayList<ArrayList<String>> allPlayersStatus;
-	/**
-	 * 全てのプレイヤーのインシュランス。シャローコピー。
-	 */
-	private ArrayList<Integer> allPlayersInsurance;
+	private ArrayList<ArrayList<HandStatus>> allPlayersStatus;
 	/**
 	 * ディーラーのオープンカード。シャローコピー。
 	 */
 	private ArrayList<Card> dealersOpenCards;
+	/**
+	 * 公開情報の版。テーブルが状態を変更して publish() するたびに増える。
+	 */
+	private volatile long version = 0;
+	/**
+	 * 最後に作ったスナップショット。版が変わるまで使い回す。
+	 */
+	private volatile InformationSnapshot snapshot;
 
 	/**
 	 * コンストラクタ。
@@ -65,37 +72,78 @@ public final class CommonInformation implements VisualizerOnCUI {
 	 * @param minimumBet 最小賭金
 	 * @param gameDeck ゲームの山札
 	 * @param playerNames 全プレイヤーの名前
-	 * @param allPlayersChips 全プレイヤーのチップ
+	 * @param ledger 全プレイヤーのチップ、賭金、インシュランスの台帳
 	 * @param allPlayersHands 全プレイヤーの全手札
-	 * @param allPlayersBets 全プレイヤーの賭金
-	 * @param allPlayersInsurance 全プレイヤーのインシュランス
+	 * @param allPlayersHandStates 全プレイヤーの全手札の HandValue の状態
 	 * @param allPlayersStatus 全プレイヤーのステータス
 	 * @param dealersOpenCards ディーラーの公開カード
 	 */
 	public CommonInformation(int numberOfPlayers,
 			int gameNumber,
 			int minimumBet,
-			CardDeck gameDeck,
+			CardShoe gameDeck,
 			ArrayList<String> playerNames,
-			ArrayList<Integer> allPlayersChips,
+			ChipLedger ledger,
 			ArrayList<ArrayList<ArrayList<Card>>> allPlayersHands,
-			ArrayList<Integer> allPlayersBets,
-			ArrayList<Integer> allPlayersInsurance,
-			ArrayList<ArrayList<String>> allPlayersStatus,
+			ArrayList<int[]> allPlayersHandStates,
+			ArrayList<ArrayList<HandStatus>> allPlayersStatus,
 			ArrayList<Card> dealersOpenCards) {
 		this.numberOfPlayers = numberOfPlayers;
 		this.gameNumber = gameNumber;
 		this.minimumBet = minimumBet;
 		this.gameDeck = gameDeck;
 		this.playerNames = playerNames;
-		this.allPlayersChips = allPlayersChips;
+		this.ledger = ledger;
 		this.allPlayersHands = allPlayersHands;
-		this.allPlayersBets = allPlayersBets;
-		this.allPlayersInsurance = allPlayersInsurance;
+		this.allPlayersHandStates = allPlayersHandStates;
 		this.allPlayersStatus = allPlayersStatus;
 		this.dealersOpenCards = dealersOpenCards;
 	}
 
+	/**
+	 * 状態が変更されたことを公開する。
+	 * BlackJackTable がプレイヤーにメッセージを求める前に呼び出す。
+	 * スナップショットは次に snapshot() が呼ばれたときに1度だけ作られる。
+	 */
+	public void publish() {
+		version++;
+	}
+
+	/**
+	 * 公開情報の版を取得する。
+	 * @return 公開情報の版
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * 現在の版の公開情報の不変なスナップショットを取得する。
+	 * 同じ版のうちは同じオブジェクトを返すので、何度呼んでもコピーは1度しか行われない。
+	 * @return 公開情報のスナップショット
+	 */
+	public InformationSnapshot snapshot() {
+		InformationSnapshot current = snapshot;
+		if(current != null && current.version == version) {
+			return current;
+		}
+		synchronized(this) {
+			long currentVersion = version;
+			current = snapshot;
+			if(current == null || current.version != currentVersion) {
+				current = new InformationSnapshot(currentVersion,
+						gameNumber,
+						playerNames,
+						ledger,
+						allPlayersHands,
+						allPlayersStatus,
+						dealersOpenCards);
+				snapshot = current;
+			}
+			return current;
+		}
+	}
+
 	/**
 	 * ゲームの山札の枚数を取得する。
 	 * @return ゲームの山札の枚数。
@@ -112,6 +160,181 @@ public final class CommonInformation implements VisualizerOnCUI {
 		return gameDeck.getInitialDeckSize();
 	}
 
+	/**
+	 * 山札に残っているカードのうち、指定した数字のカードの枚数を取得する。
+	 * 山札が保持している値を返すだけなので、コピーも走査もしない。
+	 * @param number カードの数字（1～13）
+	 * @return 残り枚数。
+	 */
+	public int remainingOfNumber(int number) {
+		return gameDeck.remainingOfNumber(number);
+	}
+
+	/**
+	 * 山札に残っているカードのうち、ブラックジャックの点数でのランク（1～10）のカードの枚数を取得する。
+	 * ランク10は10、ジャック、クイーン、キングの合計となる。
+	 * @param rank ランク（エースは1）
+	 * @return 残り枚数。
+	 */
+	public int remainingOfRank(int rank) {
+		if(rank == 10) {
+			return gameDeck.remainingOfNumber(10)
+					+ gameDeck.remainingOfNumber(11)
+					+ gameDeck.remainingOfNumber(12)
+					+ gameDeck.remainingOfNumber(13);
+		} else if(0 < rank && rank < 10) {
+			return gameDeck.remainingOfNumber(rank);
+		}
+		return 0;
+	}
+
+	/**
+	 * 山札に残っているカードのうち、指定したマークのカードの枚数を取得する。
+	 * @param symbol カードのマーク番号（0～3）
+	 * @return 残り枚数。マークを管理しない山札の場合は -1
+	 */
+	public int remainingOfSymbol(int symbol) {
+		return gameDeck.remainingOfSymbol(symbol);
+	}
+
+	/**
+	 * プレイヤーの名前を取得する。
+	 * @param seat プレイヤー番号
+	 * @return プレイヤー名。
+	 */
+	public String playerNameOf(int seat) {
+		return playerNames.get(seat);
+	}
+
+	/**
+	 * プレイヤーのチップを取得する。台帳の値をそのまま返す。
+	 * @param seat プレイヤー番号
+	 * @return チップ。
+	 */
+	public long chipsOf(int seat) {
+		return ledger.chipsOf(seat);
+	}
+
+	/**
+	 * プレイヤーの賭金を取得する。台帳の値をそのまま返す。
+	 * @param seat プレイヤー番号
+	 * @return 賭金。
+	 */
+	public long betOf(int seat) {
+		return ledger.betOf(seat);
+	}
+
+	/**
+	 * プレイヤーのインシュランスを取得する。台帳の値をそのまま返す。
+	 * @param seat プレイヤー番号
+	 * @return インシュランス。
+	 */
+	public long insuranceOf(int seat) {
+		return ledger.insuranceOf(seat);
+	}
+
+	/**
+	 * プレイヤーの手札の数（スプリットすると増える）を取得する。
+	 * @param seat プレイヤー番号
+	 * @return 手札の数。
+	 */
+	public int numberOfHandsOf(int seat) {
+		return allPlayersHands.get(seat).size();
+	}
+
+	/**
+	 * プレイヤーの手札の枚数を取得する。
+	 * @param seat プレイヤー番号
+	 * @param hand 手札の番号
+	 * @return 手札の枚数。
+	 */
+	public int handSizeOf(int seat, int hand) {
+		return allPlayersHands.get(seat).get(hand).size();
+	}
+
+	/**
+	 * プレイヤーの手札のカードを1枚取得する。カードは不変なのでそのまま返す。
+	 * @param seat プレイヤー番号
+	 * @param hand 手札の番号
+	 * @param index 手札の中のカードの位置
+	 * @return カード。
+	 */
+	public Card cardOf(int seat, int hand, int index) {
+		return allPlayersHands.get(seat).get(hand).get(index);
+	}
+
+	/**
+	 * プレイヤーの手札の HandValue の状態を取得する。
+	 * ソフトかどうかやエースを含むかどうかは HandValue の静的メソッドで求める。
+	 * @param seat プレイヤー番号
+	 * @param hand 手札の番号
+	 * @return HandValue の状態。
+	 */
+	public int handStateOf(int seat, int hand) {
+		return allPlayersHandStates.get(seat)[hand];
+	}
+
+	/**
+	 * プレイヤーの手札の強さの点数を取得する。テーブルが持つ手札の状態から表引きで求める。
+	 * @param seat プレイヤー番号
+	 * @param hand 手札の番号
+	 * @return 強さの値（バーストしていれば -1）。
+	 */
+	public int handStrengthOf(int seat, int hand) {
+		return HandValue.strength(allPlayersHandStates.get(seat)[hand]);
+	}
+
+	/**
+	 * プレイヤーの手札がスプリットできるかどうかを取得する。コピーを作らずに元の手札から判別する。
+	 * @param seat プレイヤー番号
+	 * @param hand 手札の番号
+	 * @return スプリットできるなら true できないなら false
+	 */
+	public boolean canSplitOf(int seat, int hand) {
+		return BlackJackTable.canSplit(allPlayersHands.get(seat).get(hand));
+	}
+
+	/**
+	 * プレイヤーの手札を変更できないビューとして取得する。
+	 * コピーはしないが、元の手札が変わるとこのビューの中身も変わる。
+	 * 小さなラッパーを1つ作るので、何度も読む場合は handSizeOf() と cardOf() を使う方がよい。
+	 * @param seat プレイヤー番号
+	 * @param hand 手札の番号
+	 * @return 手札の変更できないビュー。
+	 */
+	public List<Card> handOf(int seat, int hand) {
+		return Collections.unmodifiableList(allPlayersHands.get(seat).get(hand));
+	}
+
+	/**
+	 * プレイヤーの手札の状態を取得する。
+	 * @param seat プレイヤー番号
+	 * @param hand 手札の番号
+	 * @return 状態。
+	 */
+	public HandStatus statusOf(int seat, int hand) {
+		return allPlayersStatus.get(seat).get(hand);
+	}
+
+	/**
+	 * ディーラーのアップカード（最初に公開されたカード）を取得する。
+	 * @return アップカード。まだ配られていなければ null
+	 */
+	public Card dealerUpcard() {
+		if(dealersOpenCards.isEmpty()) {
+			return null;
+		}
+		return dealersOpenCards.get(0);
+	}
+
+	/**
+	 * ディーラーの公開されているカードの強さの点数を取得する。コピーを作らずに計算する。
+	 * @return 強さの値（バーストしていれば -1）。
+	 */
+	public int dealersOpenStrength() {
+		return BlackJackTable.culculateHandStrength(dealersOpenCards);
+	}
+
 	/**
 	 * 全プレイヤーの名前を取得する。
 	 * 元のデータの改変を防ぐためディープコピーを返す。
@@ -126,8 +349,12 @@ public final class CommonInformation implements VisualizerOnCUI {
 	 * 元のデータの改変を防ぐためディープコピーを返す。
 	 * @return 全プレイヤーのチップのディープコピー。
 	 */
-	public ArrayList<Integer> getPlayerChipsCopy(){
-		return new ArrayList<Integer>(this.allPlayersChips);
+	public ArrayList<Long> getPlayerChipsCopy(){
+		ArrayList<Long> copyAllPlayersChips = new ArrayList<Long>(numberOfPlayers);
+		for(int i = 0; i < numberOfPlayers; i++) {
+			copyAllPlayersChips.add(ledger.chipsOf(i));
+		}
+		return copyAllPlayersChips;
 	}
 
 	/**
@@ -152,8 +379,11 @@ public final class CommonInformation implements VisualizerOnCUI {
 	 * 元のデータの改変を防ぐためディープコピーを返す。
 	 * @return 全プレイヤーの賭金のディープコピー。
 	 */
-	public ArrayList<Integer> getAllPlayersBetsCopy() {
-		ArrayList<Integer> copyAllPlayersBets = new ArrayList<Integer>(allPlayersBets);
+	public ArrayList<Long> getAllPlayersBetsCopy() {
+		ArrayList<Long> copyAllPlayersBets = new ArrayList<Long>(numberOfPlayers);
+		for(int i = 0; i < numberOfPlayers; i++) {
+			copyAllPlayersBets.add(ledger.betOf(i));
+		}
 		return copyAllPlayersBets;
 	}
 
@@ -162,8 +392,12 @@ public final class CommonInformation implements VisualizerOnCUI {
 	 * 元のデータの改変を防ぐためディープコピーを返す。
 	 * @return 全プレイヤーのインシュランスのディープコピー。
 	 */
-	public ArrayList<Integer> getAllPlayersInsuranceCopy() {
-		return new ArrayList<Integer>(allPlayersInsurance);
+	public ArrayList<Long> getAllPlayersInsuranceCopy() {
+		ArrayList<Long> copyAllPlayersInsurance = new ArrayList<Long>(numberOfPlayers);
+		for(int i = 0; i < numberOfPlayers; i++) {
+			copyAllPlayersInsurance.add(ledger.insuranceOf(i));
+		}
+		return copyAllPlayersInsurance;
 	}
 
 	/**
@@ -171,10 +405,10 @@ public final class CommonInformation implements VisualizerOnCUI {
 	 * 元のデータの改変を防ぐためディープコピーを返す。
 	 * @return 全プレイヤーの全手札の状態のディープコピー。
 	 */
-	public ArrayList<ArrayList<String>> getAllPlayersStatusCopy() {
-		ArrayList<ArrayList<String>> copyAllPlayersStatus = new ArrayList<ArrayList<String>>();
-		for(ArrayList<String> playersStatus : this.allPlayersStatus) {
-			copyAllPlayersStatus.add(new ArrayList<String>(playersStatus));
+	public ArrayList<ArrayList<HandStatus>> getAllPlayersStatusCopy() {
+		ArrayList<ArrayList<HandStatus>> copyAllPlayersStatus = new ArrayList<ArrayList<HandStatus>>();
+		for(ArrayList<HandStatus> playersStatus : this.allPlayersStatus) {
+			copyAllPlayersStatus.add(new ArrayList<HandStatus>(playersStatus));
 		}
 		return copyAllPlayersStatus;
 	}
@@ -196,21 +430,21 @@ public final class CommonInformation implements VisualizerOnCUI {
 	public void printStatus() {
 		System.out.println("-------------------------------------------");
 		for(int i = 0; i < numberOfPlayers; i++) {
-			System.out.println(playerNames.get(i) + "のチップ : " + allPlayersChips.get(i));
+			System.out.println(playerNames.get(i) + "のチップ : " + ledger.chipsOf(i));
 		}
 		if(!allPlayersStatus.isEmpty()) {
-			if(!allPlayersStatus.get(0).get(0).contentEquals("INITIALIZED")) {
+			if(allPlayersStatus.get(0).get(0) != HandStatus.INITIALIZED) {
 				System.out.println("ディーラーのオープンカード");
 				for(Card card : dealersOpenCards) {
 					System.out.println(card.cardInfo());
 				}
 			}
 			for(int i = 0; i < numberOfPlayers; i++) {
-				ArrayList<String> playersStatus = allPlayersStatus.get(i);
+				ArrayList<HandStatus> playersStatus = allPlayersStatus.get(i);
 				if(playersStatus.size() > 1) {
 					for(int j = 0; j < playersStatus.size(); j++) {
 						System.out.println(playerNames.get(i) + "の手札 " + j + " の状態 : " + playersStatus.get(j));
-						System.out.println(playerNames.get(i) + "の賭金 : " + allPlayersBets.get(i));
+						System.out.println(playerNames.get(i) + "の賭金 : " + ledger.betOf(i));
 						System.out.println(playerNames.get(i) + "の手札 " + j);
 						for(Card card : allPlayersHands.get(i).get(j)) {
 							card.printStatus();
@@ -221,12 +455,12 @@ public final class CommonInformation implements VisualizerOnCUI {
 					System.out.println(playerNames.get(i) + "の状態 : " + playersStatus.get(0));
 					if(
 							!(
-								playersStatus.get(0).contentEquals("PASS") ||
-								playersStatus.get(0).contentEquals("BET") ||
-								playersStatus.get(0).contentEquals("INITIALIZED")
+								playersStatus.get(0) == HandStatus.PASS ||
+								playersStatus.get(0) == HandStatus.BET ||
+								playersStatus.get(0) == HandStatus.INITIALIZED
 							)
 							) {
-						System.out.println(playerNames.get(i) + "の賭金 : " + allPlayersBets.get(i));
+						System.out.println(playerNames.get(i) + "の賭金 : " + ledger.betOf(i));
 						System.out.println(playerNames.get(i) + "の手札");
 						for(Card card : allPlayersHands.get(i).get(0)) {
 							card.printStatus();
@@ -0,0 +1,202 @@
+package blackJack;
+
+/**
+ * プレイヤーが BlackJackTable に返す応答。行動の種類と、賭金やインシュランスの額の組。
+ * 額を持たない行動は定数を使い回すので、応答のたびにオブジェクトを作ることはない。
+ * CUIなど文字列で応答するコントローラーのために、文字列との相互変換 fromMessage() と toMessage() を用意している。
+ * @author Takashi Sakakihara
+ */
+public final class Decision {
+	/**
+	 * 何もしない応答。
+	 */
+	public static final Decision WAIT = new Decision(PlayerAction.WAIT, 0);
+	/**
+	 * ヒットの応答。
+	 */
+	public static final Decision HIT = new Decision(PlayerAction.HIT, 0);
+	/**
+	 * スタンドの応答。
+	 */
+	public static final Decision STAND = new Decision(PlayerAction.STAND, 0);
+	/**
+	 * ダブルダウンの応答。
+	 */
+	public static final Decision DOUBLEDOWN = new Decision(PlayerAction.DOUBLEDOWN, 0);
+	/**
+	 * スプリットの応答。
+	 */
+	public static final Decision SPLIT = new Decision(PlayerAction.SPLIT, 0);
+	/**
+	 * サレンダーの応答。
+	 */
+	public static final Decision SURRENDER = new Decision(PlayerAction.SURRENDER, 0);
+	/**
+	 * 次のゲームに進む応答。
+	 */
+	public static final Decision CONTINUE = new Decision(PlayerAction.CONTINUE, 0);
+	/**
+	 * ゲームを終了する応答。
+	 */
+	public static final Decision END = new Decision(PlayerAction.END, 0);
+	/**
+	 * 読み取れなかった応答。
+	 */
+	public static final Decision INVALID = new Decision(PlayerAction.INVALID, 0);
+	/**
+	 * パス（賭金0）の応答。
+	 */
+	public static final Decision PASS = new Decision(PlayerAction.BET, 0);
+	/**
+	 * インシュランスをしない（インシュランス0）応答。
+	 */
+	public static final Decision NO_INSURANCE = new Decision(PlayerAction.INSURE, 0);
+
+	/**
+	 * 行動の種類。
+	 */
+	public final PlayerAction action;
+	/**
+	 * 賭金またはインシュランスの額。それ以外の行動では0。
+	 */
+	public final long amount;
+
+	/**
+	 * コンストラクタ。
+	 * @param action 行動の種類
+	 * @param amount 額
+	 */
+	private Decision(PlayerAction action, long amount) {
+		this.action = action;
+		this.amount = amount;
+	}
+
+	/**
+	 * 賭金をかける応答を作る。
+	 * @param amount 賭金。0ならパス
+	 * @return 応答
+	 */
+	public static Decision bet(long amount) {
+		return amount == 0 ? PASS : new Decision(PlayerAction.BET, amount);
+	}
+
+	/**
+	 * インシュランスをかける応答を作る。
+	 * @param amount インシュランス。0ならインシュランスをしない
+	 * @return 応答
+	 */
+	public static Decision insure(long amount) {
+		return amount == 0 ? NO_INSURANCE : new Decision(PlayerAction.INSURE, amount);
+	}
+
+	/**
+	 * 額を持たない行動の応答を取得する。
+	 * @param action 行動の種類
+	 * @return 応答。BET と INSURE の場合は額0の応答
+	 */
+	public static Decision of(PlayerAction action) {
+		switch(action) {
+		case WAIT:
+			return WAIT;
+		case BET:
+			return PASS;
+		case INSURE:
+			return NO_INSURANCE;
+		case HIT:
+			return HIT;
+		case STAND:
+			return STAND;
+		case DOUBLEDOWN:
+			return DOUBLEDOWN;
+		case SPLIT:
+			return SPLIT;
+		case SURRENDER:
+			return SURRENDER;
+		case CONTINUE:
+			return CONTINUE;
+		case END:
+			return END;
+		default:
+			return INVALID;
+		}
+	}
+
+	/**
+	 * 文字列のメッセージを応答に変換する。
+	 * 賭金（stage 1）とインシュランス（stage 3）では数字を額として読み、それ以外の進行度では行動の名前として読む。
+	 * 例外を使わずに読み取り、読めなかった場合は INVALID を返す。
+	 * @param message メッセージ
+	 * @param stage ゲームの進行度
+	 * @return 応答
+	 */
+	public static Decision fromMessage(String message, int stage) {
+		if(message == null) {
+			return INVALID;
+		}
+		if(stage == 1 || stage == 3) {
+			long amount = parseAmount(message);
+			if(amount < 0) {
+				return INVALID;
+			}
+			return stage == 1 ? bet(amount) : insure(amount);
+		}
+		switch(message) {
+		case "WAIT":
+			return WAIT;
+		case "HIT":
+			return HIT;
+		case "STAND":
+			return STAND;
+		case "DOUBLEDOWN":
+			return DOUBLEDOWN;
+		case "SPLIT":
+			return SPLIT;
+		case "SURRENDER":
+			return SURRENDER;
+		case "CONTINUE":
+			return CONTINUE;
+		case "END":
+			return END;
+		default:
+			return INVALID;
+		}
+	}
+
+	/**
+	 * 10進の数字だけからなる文字列を額として読む。
+	 * @param message メッセージ
+	 * @return 額。読めない場合は -1
+	 */
+	private static long parseAmount(String message) {
+		int length = message.length();
+		if(length == 0 || length > 18) {
+			return -1;
+		}
+		long amount = 0;
+		for(int i = 0; i < length; i++) {
+			char c = message.charAt(i);
+			if(c < '0' || '9' < c) {
+				return -1;
+			}
+			amount = amount * 10 + (c - '0');
+		}
+		return amount;
+	}
+
+	/**
+	 * 応答を文字列のメッセージに変換する。
+	 * 賭金とインシュランスは額を、それ以外は行動の名前を返す。
+	 * @return メッセージ
+	 */
+	public String toMessage() {
+		if(action == PlayerAction.BET || action == PlayerAction.INSURE) {
+			return Long.toString(amount);
+		}
+		return action.name();
+	}
+
+	@Override
+	public String toString() {
+		return toMessage();
+	}
+}
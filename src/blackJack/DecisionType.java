@@ -0,0 +1,26 @@
+package blackJack;
+
+/**
+ * BlackJackTable がプレイヤーに求める応答の種類。
+ * 種類ごとに応答を待つ時間の上限（BlackJackTableConfig.setDecisionTimeoutMillis）を設定でき、
+ * 時間内に応答がなかった場合は種類ごとの既定の応答が使われる。
+ * @author Takashi Sakakihara
+ */
+public enum DecisionType {
+	/**
+	 * 賭金（stage 1）。時間切れの場合は最低賭金をかける。
+	 */
+	BET,
+	/**
+	 * インシュランス（stage 3）。時間切れの場合はインシュランスをしない。
+	 */
+	INSURANCE,
+	/**
+	 * プレイヤーの行動（stage 5）。時間切れの場合はスタンドする。
+	 */
+	ACTION,
+	/**
+	 * 次のゲームの参加意思（stage 8）。時間切れの場合はゲームを終了する。
+	 */
+	CONTINUE;
+}
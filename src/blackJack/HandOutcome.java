@@ -0,0 +1,43 @@
+package blackJack;
+
+/**
+ * 勝敗処理での手札1つの結果。
+ * 結果ごとに、賭金に対してチップに払い戻す額が決まる。
+ * @author Takashi Sakakihara
+ */
+public enum HandOutcome {
+	/**
+	 * 負け。払い戻しはない。
+	 */
+	LOSE,
+	/**
+	 * 引き分け。賭金が返却される。
+	 */
+	PUSH,
+	/**
+	 * 勝ち。賭金の2倍が払い戻される。
+	 */
+	WIN,
+	/**
+	 * ブラックジャックでの勝ち。賭金の2.5倍（端数切り捨て）が払い戻される。
+	 */
+	BLACKJACK;
+
+	/**
+	 * この結果でチップに払い戻す額を返す。
+	 * @param bet 賭金
+	 * @return 払い戻す額
+	 */
+	public long payout(long bet) {
+		switch(this) {
+		case PUSH:
+			return bet;
+		case WIN:
+			return bet * 2;
+		case BLACKJACK:
+			return bet * 5 / 2;
+		default:
+			return 0;
+		}
+	}
+}
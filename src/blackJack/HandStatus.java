@@ -0,0 +1,80 @@
+package blackJack;
+
+/**
+ * プレイヤーの手札の状態。
+ * スプリットで手札が増えた場合、それぞれの手札が状態を持つ。
+ * 比較は == で行える。表示には toString() で元の文字列を使う。
+ * @author Takashi Sakakihara
+ */
+public enum HandStatus {
+	/**
+	 * ゲーム開始時の状態。
+	 */
+	INITIALIZED("INITIALIZED"),
+	/**
+	 * 賭金をかけた状態。
+	 */
+	BET("BET"),
+	/**
+	 * この勝負をパスした状態。
+	 */
+	PASS("PASS"),
+	/**
+	 * 初期手札が配られた状態。
+	 */
+	DEALED("DEALED"),
+	/**
+	 * インシュランスをかけた状態。
+	 */
+	INSURED("INSURED"),
+	/**
+	 * インシュランスをかけなかった状態。
+	 */
+	NO_INSURED("NO INSURED"),
+	/**
+	 * ヒットした状態。
+	 */
+	HIT("HIT"),
+	/**
+	 * スタンドした状態。
+	 */
+	STAND("STAND"),
+	/**
+	 * バーストした状態。
+	 */
+	BURST("BURST"),
+	/**
+	 * スプリットした状態。
+	 */
+	SPLIT("SPLIT"),
+	/**
+	 * ダブルダウンした状態。
+	 */
+	DOUBLEDOWN("DOUBLEDOWN"),
+	/**
+	 * サレンダーした状態。
+	 */
+	SURRENDER("SURRENDER");
+
+	/**
+	 * 表示用の文字列。
+	 */
+	private final String label;
+
+	/**
+	 * コンストラクタ。
+	 * @param label 表示用の文字列
+	 */
+	private HandStatus(String label) {
+		this.label = label;
+	}
+
+	/**
+	 * 表示用の文字列を返す。以前の文字列の状態と同じ表記になる。
+	 * @return 表示用の文字列
+	 */
+	@Override
+	public String toString() {
+		return label;
+	}
+}
@@ -0,0 +1,175 @@
+package blackJack;
+
+/**
+ * ブラックジャックの手札の点数を、カードを1枚加えるごとに表引き1回で更新するための状態機械。
+ * 手札の状態は int で表し、EMPTY から始めて next() でカードを加えていく。
+ * 状態はハードの合計（エースを1と数えた合計）、エースを含むかどうか、枚数（3枚以上はまとめる）の組で、
+ * ハードの合計が21を超えた時点で BUST になり、その後は変化しない。
+ * 点数、ソフトかどうか、バースト、ブラックジャックはいずれも状態から表引き1回で求まる。
+ * @author Takashi Sakakihara
+ */
+public final class HandValue {
+	/**
+	 * 区別する枚数の数。0枚、1枚、2枚、3枚以上。
+	 */
+	private static final int COUNT_STATES = 4;
+	/**
+	 * バーストしていない場合のハードの合計の最大値。
+	 */
+	private static final int MAX_HARD_TOTAL = 21;
+	/**
+	 * カードの数字の種類数（添字に数字をそのまま使うため0も含む）。
+	 */
+	private static final int NUMBERS = 14;
+	/**
+	 * バーストした状態。
+	 */
+	public static final int BUST = (MAX_HARD_TOTAL + 1) * 2 * COUNT_STATES;
+	/**
+	 * カードが1枚もない状態。
+	 */
+	public static final int EMPTY = encode(0, false, 0);
+	/**
+	 * 状態の数。
+	 */
+	public static final int NUMBER_OF_STATES = BUST + 1;
+
+	/**
+	 * 遷移表。NEXT[state * NUMBERS + number] が次の状態。
+	 */
+	private static final int[] NEXT = new int[NUMBER_OF_STATES * NUMBERS];
+	/**
+	 * 状態ごとの点数。culculateHandStrength と同じくバーストは -1。
+	 */
+	private static final int[] STRENGTH = new int[NUMBER_OF_STATES];
+	/**
+	 * 状態ごとのソフト（エースを11と数えている）かどうか。
+	 */
+	private static final boolean[] SOFT = new boolean[NUMBER_OF_STATES];
+	/**
+	 * 状態ごとのエースを含むかどうか。
+	 */
+	private static final boolean[] ACE = new boolean[NUMBER_OF_STATES];
+	/**
+	 * 状態ごとの2枚で21かどうか。
+	 */
+	private static final boolean[] TWENTY_ONE_WITH_TWO_CARDS = new boolean[NUMBER_OF_STATES];
+	/**
+	 * 状態ごとの枚数（3枚以上は3）。
+	 */
+	private static final int[] COUNT = new int[NUMBER_OF_STATES];
+
+	static {
+		for(int hard = 0; hard <= MAX_HARD_TOTAL; hard++) {
+			for(int ace = 0; ace < 2; ace++) {
+				for(int count = 0; count < COUNT_STATES; count++) {
+					int state = encode(hard, ace == 1, count);
+					int strength = hard;
+					if(ace == 1 && hard < 12) {
+						strength += 10;
+					}
+					STRENGTH[state] = strength;
+					SOFT[state] = strength != hard;
+					ACE[state] = ace == 1;
+					COUNT[state] = count;
+					TWENTY_ONE_WITH_TWO_CARDS[state] = count == 2 && strength == 21;
+					for(int number = 1; number < NUMBERS; number++) {
+						int rank = number > 10 ? 10 : number;
+						int nextHard = hard + rank;
+						int nextCount = count + 1 < COUNT_STATES ? count + 1 : COUNT_STATES - 1;
+						NEXT[state * NUMBERS + number] = nextHard > MAX_HARD_TOTAL
+								? BUST
+								: encode(nextHard, ace == 1 || rank == 1, nextCount);
+					}
+				}
+			}
+		}
+		STRENGTH[BUST] = -1;
+		COUNT[BUST] = COUNT_STATES - 1;
+		for(int number = 1; number < NUMBERS; number++) {
+			NEXT[BUST * NUMBERS + number] = BUST;
+		}
+	}
+
+	/**
+	 * インスタンスは作らない。
+	 */
+	private HandValue() {
+	}
+
+	/**
+	 * 状態を int に符号化する。
+	 * @param hard ハードの合計
+	 * @param containsAce エースを含むかどうか
+	 * @param count 枚数（3枚以上は3）
+	 * @return 状態
+	 */
+	private static int encode(int hard, boolean containsAce, int count) {
+		return ((hard * 2) + (containsAce ? 1 : 0)) * COUNT_STATES + count;
+	}
+
+	/**
+	 * カードを1枚加えた後の状態を返す。
+	 * @param state 今の状態
+	 * @param number 加えるカードの数字（1～13）
+	 * @return 次の状態
+	 */
+	public static int next(int state, int number) {
+		return NEXT[state * NUMBERS + number];
+	}
+
+	/**
+	 * 状態の点数を返す。BlackJackTable.culculateHandStrength と同じ値になる。
+	 * @param state 状態
+	 * @return 強さの値（バーストしていれば -1）
+	 */
+	public static int strength(int state) {
+		return STRENGTH[state];
+	}
+
+	/**
+	 * バーストしているかどうか。
+	 * @param state 状態
+	 * @return バーストしていれば true
+	 */
+	public static boolean isBust(int state) {
+		return state == BUST;
+	}
+
+	/**
+	 * ソフトハンド（エースを11と数えている）かどうか。
+	 * @param state 状態
+	 * @return ソフトハンドなら true
+	 */
+	public static boolean isSoft(int state) {
+		return SOFT[state];
+	}
+
+	/**
+	 * エースを含むかどうか。バーストした状態では false を返す。
+	 * @param state 状態
+	 * @return エースを含むなら true
+	 */
+	public static boolean containsAce(int state) {
+		return ACE[state];
+	}
+
+	/**
+	 * 2枚で21になっているかどうか。
+	 * スプリットした手札はブラックジャックにならないので、その判定は呼び出し側で行う。
+	 * @param state 状態
+	 * @return 2枚で21なら true
+	 */
+	public static boolean isTwentyOneWithTwoCards(int state) {
+		return TWENTY_ONE_WITH_TWO_CARDS[state];
+	}
+
+	/**
+	 * 枚数を返す。3枚以上は3を返す。
+	 * @param state 状態
+	 * @return 枚数（最大3）
+	 */
+	public static int cardCount(int state) {
+		return COUNT[state];
+	}
+}
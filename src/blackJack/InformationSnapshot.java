@@ -0,0 +1,168 @@
+package blackJack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import system.core.Card;
+
+/**
+ * ある時点でのゲームの公開情報の不変なスナップショット。
+ * CommonInformation.snapshot() で取得する。
+ * 全てのリストは変更できないビューで、作られた後は中身が変わらないので、コピーせずにそのまま読んでよい。
+ * 同じ版（version）のスナップショットは1度しか作られず、全ての読み手で共有される。
+ * @author Takashi Sakakihara
+ */
+public final class InformationSnapshot {
+	/**
+	 * このスナップショットの版。CommonInformation が公開された回数。
+	 */
+	public final long version;
+	/**
+	 * ゲーム番号。
+	 */
+	public final int gameNumber;
+	/**
+	 * 全プレイヤーの名前。
+	 */
+	private final List<String> playerNames;
+	/**
+	 * 全プレイヤーのチップ。
+	 */
+	private final List<Long> allPlayersChips;
+	/**
+	 * 全プレイヤーの全ての手札（スプリットして増えたものを含む）。
+	 */
+	private final List<List<List<Card>>> allPlayersHands;
+	/**
+	 * 全てのプレイヤーの賭金。
+	 */
+	private final List<Long> allPlayersBets;
+	/**
+	 * 全てのプレイヤーのインシュランス。
+	 */
+	private final List<Long> allPlayersInsurance;
+	/**
+	 * 全てのプレイヤーの全ての手札における状態。
+	 */
+	private final List<List<HandStatus>> allPlayersStatus;
+	/**
+	 * ディーラーのオープンカード。
+	 */
+	private final List<Card> dealersOpenCards;
+
+	/**
+	 * コンストラクタ。引数のデータを1度だけコピーして変更できないビューにする。
+	 * @param version 版
+	 * @param gameNumber ゲーム番号
+	 * @param playerNames 全プレイヤーの名前
+	 * @param ledger 全プレイヤーのチップ、賭金、インシュランスの台帳
+	 * @param allPlayersHands 全プレイヤーの全手札
+	 * @param allPlayersStatus 全プレイヤーのステータス
+	 * @param dealersOpenCards ディーラーの公開カード
+	 */
+	InformationSnapshot(long version,
+			int gameNumber,
+			List<String> playerNames,
+			ChipLedger ledger,
+			List<? extends List<? extends List<Card>>> allPlayersHands,
+			List<? extends List<HandStatus>> allPlayersStatus,
+			List<Card> dealersOpenCards) {
+		this.version = version;
+		this.gameNumber = gameNumber;
+		this.playerNames = freeze(playerNames);
+		int numberOfSeats = ledger.getNumberOfSeats();
+		List<Long> chips = new ArrayList<Long>(numberOfSeats);
+		List<Long> bets = new ArrayList<Long>(numberOfSeats);
+		List<Long> insurance = new ArrayList<Long>(numberOfSeats);
+		for(int seat = 0; seat < numberOfSeats; seat++) {
+			chips.add(ledger.chipsOf(seat));
+			bets.add(ledger.betOf(seat));
+			insurance.add(ledger.insuranceOf(seat));
+		}
+		this.allPlayersChips = Collections.unmodifiableList(chips);
+		this.allPlayersBets = Collections.unmodifiableList(bets);
+		this.allPlayersInsurance = Collections.unmodifiableList(insurance);
+		List<List<List<Card>>> hands = new ArrayList<List<List<Card>>>(allPlayersHands.size());
+		for(List<? extends List<Card>> playersHands : allPlayersHands) {
+			List<List<Card>> frozenHands = new ArrayList<List<Card>>(playersHands.size());
+			for(List<Card> singleHand : playersHands) {
+				frozenHands.add(freeze(singleHand));
+			}
+			hands.add(Collections.unmodifiableList(frozenHands));
+		}
+		this.allPlayersHands = Collections.unmodifiableList(hands);
+		List<List<HandStatus>> status = new ArrayList<List<HandStatus>>(allPlayersStatus.size());
+		for(List<HandStatus> playersStatus : allPlayersStatus) {
+			status.add(freeze(playersStatus));
+		}
+		this.allPlayersStatus = Collections.unmodifiableList(status);
+		this.dealersOpenCards = freeze(dealersOpenCards);
+	}
+
+	/**
+	 * リストをコピーして変更できないビューにする。
+	 * @param <T> 要素の型
+	 * @param list 元のリスト
+	 * @return 変更できないコピー
+	 */
+	private static <T> List<T> freeze(List<T> list) {
+		return Collections.unmodifiableList(new ArrayList<T>(list));
+	}
+
+	/**
+	 * 全プレイヤーの名前を取得する。
+	 * @return 全プレイヤー名の変更できないリスト。
+	 */
+	public List<String> getPlayerNames() {
+		return playerNames;
+	}
+
+	/**
+	 * 全プレイヤーのチップを取得する。
+	 * @return 全プレイヤーのチップの変更できないリスト。
+	 */
+	public List<Long> getPlayerChips() {
+		return allPlayersChips;
+	}
+
+	/**
+	 * 全プレイヤーの全ての手札を取得する。
+	 * @return 全プレイヤーの全手札の変更できないリスト。
+	 */
+	public List<List<List<Card>>> getAllPlayersHands() {
+		return allPlayersHands;
+	}
+
+	/**
+	 * 全プレイヤーの賭金を取得する。
+	 * @return 全プレイヤーの賭金の変更できないリスト。
+	 */
+	public List<Long> getAllPlayersBets() {
+		return allPlayersBets;
+	}
+
+	/**
+	 * 全プレイヤーのインシュランスを取得する。
+	 * @return 全プレイヤーのインシュランスの変更できないリスト。
+	 */
+	public List<Long> getAllPlayersInsurance() {
+		return allPlayersInsurance;
+	}
+
+	/**
+	 * 全プレイヤーの全手札の状態を取得する。
+	 * @return 全プレイヤーの全手札の状態の変更できないリスト。
+	 */
+	public List<List<HandStatus>> getAllPlayersStatus() {
+		return allPlayersStatus;
+	}
+
+	/**
+	 * ディーラーのオープンカードを取得する。
+	 * @return ディーラーのオープンカードの変更できないリスト。
+	 */
+	public List<Card> getDealersOpenCards() {
+		return dealersOpenCards;
+	}
+}
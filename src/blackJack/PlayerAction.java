@@ -0,0 +1,53 @@
+package blackJack;
+
+/**
+ * プレイヤーが BlackJackTable に返す行動の種類。
+ * BET と INSURE は Decision の額と組み合わせて使う。
+ * @author Takashi Sakakihara
+ */
+public enum PlayerAction {
+	/**
+	 * 何もしない。応答が求められていない進行度での応答。
+	 */
+	WAIT,
+	/**
+	 * 賭金をかける。額が0ならこの勝負をパスする。
+	 */
+	BET,
+	/**
+	 * インシュランスをかける。額が0ならインシュランスをしない。
+	 */
+	INSURE,
+	/**
+	 * ヒットする。
+	 */
+	HIT,
+	/**
+	 * スタンドする。
+	 */
+	STAND,
+	/**
+	 * ダブルダウンする。
+	 */
+	DOUBLEDOWN,
+	/**
+	 * スプリットする。
+	 */
+	SPLIT,
+	/**
+	 * サレンダーする。
+	 */
+	SURRENDER,
+	/**
+	 * 次のゲームに進む。
+	 */
+	CONTINUE,
+	/**
+	 * ゲームを終了する。
+	 */
+	END,
+	/**
+	 * 読み取れなかったメッセージ。
+	 */
+	INVALID
+}
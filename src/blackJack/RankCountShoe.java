@@ -0,0 +1,177 @@
+package blackJack;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import system.core.Card;
+import system.core.CardShoe;
+import system.core.VisualizerOnCUI;
+
+/**
+ * カードの実体を持たず、数字ごとの残り枚数だけを数えて持つブラックジャック用の山札。
+ * ブラックジャックの点数はマークによらないので、カードを引くときは残り枚数の重みで数字だけを選ぶ。
+ * 山札1つあたりのメモリは数十個の int で済み、1枚引く処理も数回の引き算で終わる。
+ * 表示のためにマークが必要な場合に備えて、引いたカードは Card.of() の共有インスタンスで返す（マークは山札の状態を反映しない）。
+ * @author Takashi Sakakihara
+ *
+ */
+public class RankCountShoe implements CardShoe, VisualizerOnCUI {
+	/**
+	 * 山札の初期状態での数字ごとの枚数。添字がカードの数字（1～13）となる。
+	 */
+	private final int[] initialCountsByNumber = new int[14];
+	/**
+	 * まだ引かれていないカードの数字ごとの枚数。
+	 */
+	private final int[] remainingByNumber = new int[14];
+	/**
+	 * 山札の初期枚数。
+	 */
+	private final int initialDeckSize;
+	/**
+	 * 山札の残り枚数。
+	 */
+	private int currentDeckSize;
+	/**
+	 * シューごとのシードを生成する乱数生成器。
+	 */
+	private final RandomGenerator random;
+	/**
+	 * 現在のシューのシード。
+	 */
+	private long shoeSeed;
+	/**
+	 * 現在のシューでカードを選ぶのに使う乱数生成器。shoeSeed で初期化される。
+	 */
+	private RandomGenerator shoeRandom;
+
+	/**
+	 * ジョーカーを除いたトランプのカード52枚のデッキを引数個混ぜた山札として初期化するコンストラクタ。
+	 * @param numberOfCardDeck トランプのデッキ数
+	 */
+	public RankCountShoe(int numberOfCardDeck) {
+		this(numberOfCardDeck, new SplittableRandom());
+	}
+
+	/**
+	 * ジョーカーを除いたトランプのカード52枚のデッキを引数個混ぜた山札として初期化するコンストラクタ。
+	 * @param numberOfCardDeck トランプのデッキ数
+	 * @param random シューごとのシードを生成する乱数生成器
+	 */
+	public RankCountShoe(int numberOfCardDeck, RandomGenerator random) {
+		this.random = random;
+		for(int number = 1; number < 14; number++) {
+			initialCountsByNumber[number] = numberOfCardDeck * 4;
+		}
+		this.initialDeckSize = numberOfCardDeck * 52;
+		reset();
+	}
+
+	@Override
+	public void reset() {
+		reset(random.nextLong());
+	}
+
+	@Override
+	public void reset(long shoeSeed) {
+		this.shoeSeed = shoeSeed;
+		this.shoeRandom = new SplittableRandom(shoeSeed);
+		System.arraycopy(initialCountsByNumber, 0, remainingByNumber, 0, initialCountsByNumber.length);
+		this.currentDeckSize = initialDeckSize;
+	}
+
+	@Override
+	public long getShoeSeed() {
+		return shoeSeed;
+	}
+
+	/**
+	 * 残り枚数の重みで数字を選んで1枚引く。
+	 * 選んだ数字の中での位置をマークとして使うので、乱数は1枚につき1回しか使わない。
+	 * @return 引いたカードの共有インスタンス
+	 * @throws IndexOutOfBoundsException 山札にカードが残っていないときの例外
+	 */
+	@Override
+	public Card drawCard() {
+		int drawn = draw();
+		return Card.of(drawn >> 2, drawn & 3);
+	}
+
+	/**
+	 * 残り枚数の重みで数字を選んで1枚引き、その数字だけを返す。
+	 * drawCard() と同じ乱数の使い方をするので、同じシードからは同じ数字の列になる。
+	 * Card を経由しないので、BlackJackSimulator のように数字しか使わない場合はこちらを使う。
+	 * @return 引いたカードの数字（1～13）
+	 * @throws IndexOutOfBoundsException 山札にカードが残っていないときの例外
+	 */
+	public int drawNumber() {
+		return draw() >> 2;
+	}
+
+	/**
+	 * 残り枚数の重みで数字を選んで1枚引く。
+	 * @return 引いたカードの数字を2ビット左にずらし、スートを表す下位2ビットを加えた値
+	 * @throws IndexOutOfBoundsException 山札にカードが残っていないときの例外
+	 */
+	private int draw() {
+		if(currentDeckSize <= 0) {
+			throw new IndexOutOfBoundsException("山札にカードが残っていません。");
+		}
+		int position = shoeRandom.nextInt(currentDeckSize);
+		int number = 1;
+		while(position >= remainingByNumber[number]) {
+			position -= remainingByNumber[number];
+			number++;
+		}
+		remainingByNumber[number]--;
+		currentDeckSize--;
+		return (number << 2) | (position & 3);
+	}
+
+	@Override
+	public int getInitialDeckSize() {
+		return initialDeckSize;
+	}
+
+	@Override
+	public int getCurrentDeckSize() {
+		return currentDeckSize;
+	}
+
+	@Override
+	public double getRemainingRate() {
+		return (((double) currentDeckSize / (double) initialDeckSize));
+	}
+
+	@Override
+	public int remainingOfNumber(int number) {
+		if(number < 1 || 13 < number) {
+			return 0;
+		}
+		return remainingByNumber[number];
+	}
+
+	/**
+	 * マークは管理しないので常に -1 を返す。
+	 */
+	@Override
+	public int remainingOfSymbol(int symbol) {
+		return -1;
+	}
+
+	@Override
+	public void printStatus() {
+		System.out.println("山札の初期枚数：" + this.initialDeckSize);
+		System.out.println("カードの残り枚数：" + this.currentDeckSize);
+	}
+
+	@Override
+	public void printName() {
+		System.out.println("枚数だけを数える山札");
+	}
+
+	@Override
+	public void printClass() {
+		System.out.println("RankCountShoe");
+	}
+}
@@ -0,0 +1,63 @@
+package blackJack;
+
+/**
+ * 1つの席から見えるゲームの状態を読むためのインターフェース。
+ * BlackJackStrategy はこれだけを見て応答を決めるので、同じ戦略を BlackJackTable のコントローラーでも
+ * BlackJackSimulator でも使える。
+ * 手札は HandValue の状態とカードの数字で表し、読むときにオブジェクトを作らない。
+ * @author Takashi Sakakihara
+ */
+public interface SeatView {
+	/**
+	 * 最低賭金を取得する。
+	 * @return 最低賭金
+	 */
+	int minimumBet();
+
+	/**
+	 * この席の現在のゲームでの賭金を取得する。
+	 * @return 賭金
+	 */
+	long bet();
+
+	/**
+	 * ディーラーのオープンカードの点数を取得する。Aは11と数える。
+	 * @return ディーラーのオープンカードの点数
+	 */
+	int dealerUpcardStrength();
+
+	/**
+	 * この席の手札の数を取得する。スプリットしていなければ1。
+	 * @return 手札の数
+	 */
+	int numberOfHands();
+
+	/**
+	 * この席の手札の HandValue の状態を取得する。
+	 * @param hand 手札の番号
+	 * @return 手札の状態
+	 */
+	int handState(int hand);
+
+	/**
+	 * この席の手札の枚数を取得する。
+	 * @param hand 手札の番号
+	 * @return 手札の枚数
+	 */
+	int handSize(int hand);
+
+	/**
+	 * この席の手札のカードの数字を取得する。
+	 * @param hand 手札の番号
+	 * @param index 手札の中のカードの位置
+	 * @return カードの数字（1～13）
+	 */
+	int cardNumber(int hand, int index);
+
+	/**
+	 * この席の手札がスプリットできる組かどうかを取得する。チップが足りるかどうかは含まない。
+	 * @param hand 手札の番号
+	 * @return スプリットできる組なら true
+	 */
+	boolean canSplit(int hand);
+}
@@ -0,0 +1,248 @@
+package blackJack;
+
+/**
+ * BlackJackSimulator の結果を表す不変クラス。
+ * 全ての集計値は整数の合計で持つので、merge() は結合的かつ可換で丸め誤差がない。
+ * 期待値、勝率、分散などの小数の値は、取得するときに合計から計算する。
+ * 勝ち・引き分け・負けはラウンドごとのチップの増減（インシュランスやサレンダーも含む）の符号で数える。
+ * @author Takashi Sakakihara
+ *
+ */
+public final class SimulationResult {
+	/**
+	 * 何も集計していない結果。
+	 */
+	public static final SimulationResult EMPTY = new SimulationResult(0, 0, 0, 0, 0, 0, 0, 0);
+
+	/**
+	 * 行ったラウンド数。パスしたラウンドも含む。
+	 */
+	private final long rounds;
+	/**
+	 * 賭金をかけて勝負したラウンド数。
+	 */
+	private final long handsPlayed;
+	/**
+	 * チップが増えたラウンド数。
+	 */
+	private final long wins;
+	/**
+	 * チップが変わらなかったラウンド数。
+	 */
+	private final long pushes;
+	/**
+	 * チップが減ったラウンド数。
+	 */
+	private final long losses;
+	/**
+	 * 最初にかけた賭金の合計。
+	 */
+	private final long totalInitialBet;
+	/**
+	 * チップの増減の合計。
+	 */
+	private final long netChips;
+	/**
+	 * ラウンドごとのチップの増減の2乗の合計。
+	 */
+	private final long netChipsSquared;
+
+	/**
+	 * コンストラクタ。
+	 * @param rounds 行ったラウンド数
+	 * @param handsPlayed 賭金をかけて勝負したラウンド数
+	 * @param wins チップが増えたラウンド数
+	 * @param pushes チップが変わらなかったラウンド数
+	 * @param losses チップが減ったラウンド数
+	 * @param totalInitialBet 最初にかけた賭金の合計
+	 * @param netChips チップの増減の合計
+	 * @param netChipsSquared ラウンドごとのチップの増減の2乗の合計
+	 */
+	public SimulationResult(long rounds, long handsPlayed, long wins, long pushes, long losses,
+			long totalInitialBet, long netChips, long netChipsSquared) {
+		this.rounds = rounds;
+		this.handsPlayed = handsPlayed;
+		this.wins = wins;
+		this.pushes = pushes;
+		this.losses = losses;
+		this.totalInitialBet = totalInitialBet;
+		this.netChips = netChips;
+		this.netChipsSquared = netChipsSquared;
+	}
+
+	/**
+	 * 2つの結果を合わせた結果を返す。整数の足し算だけなので、合わせる順番によらず同じ結果になる。
+	 * @param other 合わせる結果
+	 * @return 合わせた結果
+	 */
+	public SimulationResult merge(SimulationResult other) {
+		return new SimulationResult(rounds + other.rounds,
+				handsPlayed + other.handsPlayed,
+				wins + other.wins,
+				pushes + other.pushes,
+				losses + other.losses,
+				totalInitialBet + other.totalInitialBet,
+				netChips + other.netChips,
+				netChipsSquared + other.netChipsSquared);
+	}
+
+	/**
+	 * 行ったラウンド数を取得する。パスしたラウンドも含む。
+	 * @return ラウンド数
+	 */
+	public long getRounds() {
+		return rounds;
+	}
+
+	/**
+	 * 賭金をかけて勝負したラウンド数を取得する。
+	 * @return 勝負したラウンド数
+	 */
+	public long getHandsPlayed() {
+		return handsPlayed;
+	}
+
+	/**
+	 * チップが増えたラウンド数を取得する。
+	 * @return 勝ったラウンド数
+	 */
+	public long getWins() {
+		return wins;
+	}
+
+	/**
+	 * チップが変わらなかったラウンド数を取得する。
+	 * @return 引き分けたラウンド数
+	 */
+	public long getPushes() {
+		return pushes;
+	}
+
+	/**
+	 * チップが減ったラウンド数を取得する。
+	 * @return 負けたラウンド数
+	 */
+	public long getLosses() {
+		return losses;
+	}
+
+	/**
+	 * 最初にかけた賭金の合計を取得する。
+	 * @return 賭金の合計
+	 */
+	public long getTotalInitialBet() {
+		return totalInitialBet;
+	}
+
+	/**
+	 * チップの増減の合計を取得する。
+	 * @return チップの増減の合計
+	 */
+	public long getNetChips() {
+		return netChips;
+	}
+
+	/**
+	 * ラウンドごとのチップの増減の2乗の合計を取得する。
+	 * @return チップの増減の2乗の合計
+	 */
+	public long getNetChipsSquared() {
+		return netChipsSquared;
+	}
+
+	/**
+	 * 勝負したラウンド1回あたりのチップの増減の期待値を取得する。
+	 * @return 1ハンドあたりの期待値（チップ）
+	 */
+	public double getExpectedValuePerHand() {
+		return handsPlayed == 0 ? 0.0 : (double) netChips / handsPlayed;
+	}
+
+	/**
+	 * 最初にかけた賭金1あたりのチップの増減の期待値を取得する。
+	 * @return 賭金1あたりの期待値
+	 */
+	public double getExpectedValuePerUnitBet() {
+		return totalInitialBet == 0 ? 0.0 : (double) netChips / totalInitialBet;
+	}
+
+	/**
+	 * 勝負したラウンドのうち勝った割合を取得する。
+	 * @return 勝率
+	 */
+	public double getWinRate() {
+		return handsPlayed == 0 ? 0.0 : (double) wins / handsPlayed;
+	}
+
+	/**
+	 * 勝負したラウンドのうち引き分けた割合を取得する。
+	 * @return 引き分けの割合
+	 */
+	public double getPushRate() {
+		return handsPlayed == 0 ? 0.0 : (double) pushes / handsPlayed;
+	}
+
+	/**
+	 * 勝負したラウンドのうち負けた割合を取得する。
+	 * @return 負けの割合
+	 */
+	public double getLossRate() {
+		return handsPlayed == 0 ? 0.0 : (double) losses / handsPlayed;
+	}
+
+	/**
+	 * 勝負したラウンド1回あたりのチップの増減の分散を取得する。
+	 * @return 1ハンドあたりの分散（チップの2乗）
+	 */
+	public double getVariancePerHand() {
+		if(handsPlayed == 0) {
+			return 0.0;
+		}
+		double mean = (double) netChips / handsPlayed;
+		return (double) netChipsSquared / handsPlayed - mean * mean;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof SimulationResult)) {
+			return false;
+		}
+		SimulationResult other = (SimulationResult) obj;
+		return rounds == other.rounds
+				&& handsPlayed == other.handsPlayed
+				&& wins == other.wins
+				&& pushes == other.pushes
+				&& losses == other.losses
+				&& totalInitialBet == other.totalInitialBet
+				&& netChips == other.netChips
+				&& netChipsSquared == other.netChipsSquared;
+	}
+
+	@Override
+	public int hashCode() {
+		long hash = rounds;
+		hash = hash * 31 + handsPlayed;
+		hash = hash * 31 + wins;
+		hash = hash * 31 + pushes;
+		hash = hash * 31 + losses;
+		hash = hash * 31 + totalInitialBet;
+		hash = hash * 31 + netChips;
+		hash = hash * 31 + netChipsSquared;
+		return Long.hashCode(hash);
+	}
+
+	@Override
+	public String toString() {
+		return "rounds=" + rounds
+				+ " hands=" + handsPlayed
+				+ " EV/hand=" + getExpectedValuePerHand()
+				+ " EV/bet=" + getExpectedValuePerUnitBet()
+				+ " win=" + getWinRate()
+				+ " push=" + getPushRate()
+				+ " loss=" + getLossRate()
+				+ " variance=" + getVariancePerHand();
+	}
+}
@@ -1,31 +1,71 @@
 package blackJack.controller;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 import blackJack.CommonInformation;
+import blackJack.Decision;
+import system.core.GameExecutors;
 
 /**
  * ブラックジャックのプレイヤーの行動選択処理を行う抽象クラス。
- * スレッドを継承しているため、これを継承したクラスは基本的にrun()をオーバーライドする。
+ * start() で Executor のタスクとして run() を実行し、BlackJackTable とはメールボックス（要求と応答の受け渡し）でやり取りする。
+ * BlackJackTable が getMessage() で要求を出すと、このタスクが起きて decide() で応答を作り、BlackJackTable に返す。
+ * 要求が来ていない間、このタスクは待機しているだけで CPU を使わない。
+ * 待機には synchronized ではなく ReentrantLock を使うので、仮想スレッドで動かしてもキャリアスレッドを占有しない。
+ * 入力をその場で受け付けるコントローラーは getMessage() と getMessageSplited() を直接オーバーライドしてもよい。
+ * 計算だけで応答が決まるコントローラーは SynchronousBlackJackController を継承し、スレッドを使わずに BlackJackTable のスレッドの上で応答する。
  * @author ディリアス
  *
  */
-public abstract class BlackJackController extends Thread {
+public abstract class BlackJackController implements Runnable {
 	/**
 	 * ゲームの進行度。
 	 */
-	protected Integer stage;
+	protected volatile int stage;
 	/**
 	 * ゲームの公開情報。
 	 */
-	protected CommonInformation info;
+	protected volatile CommonInformation info;
 	/**
 	 * このコントローラーが生きているかどうか。
-	 * これがfalseになったときrun()が終了するように作る。
+	 * これがfalseになったときrun()が終了する。
 	 */
-	protected boolean isAlive = true;
+	protected volatile boolean isAlive = true;
 	/**
 	 * プレイヤー番号。
 	 */
 	protected final int playerNumber;
+	/**
+	 * メールボックスのロック。
+	 */
+	private final ReentrantLock mailboxLock = new ReentrantLock();
+	/**
+	 * メールボックスの状態（要求・応答・終了）が変わったことを知らせる条件。
+	 */
+	private final Condition mailboxChanged = mailboxLock.newCondition();
+	/**
+	 * BlackJackTable から応答待ちのメッセージの要求が来ているかどうか。
+	 */
+	private boolean requested = false;
+	/**
+	 * 要求されているメッセージの手札の番号。
+	 */
+	private int requestedHandNumber = 0;
+	/**
+	 * 要求に対する応答のメッセージ。応答がまだのときは null。
+	 */
+	private String answer = null;
+	/**
+	 * 要求の通し番号。要求を出すたびに増える。
+	 */
+	private long requestSequence = 0;
+	/**
+	 * このコントローラーのタスクが応答しようとしている要求の通し番号。
+	 * 締め切りを過ぎて取り下げられた要求への遅れた応答を、次の要求への応答と取り違えないために使う。
+	 */
+	private long servingSequence = -1;
 
 	/**
 	 * コンストラクタ。
@@ -54,17 +94,43 @@ public abstract class BlackJackController extends Thread {
 	 * ゲーム開始時の準備処理。
 	 * @param info 公開情報。
 	 */
-	public synchronized void prepare(CommonInformation info) {
+	public void prepare(CommonInformation info) {
 		setStage(0);
 		setInfo(info);
 	}
+	/**
+	 * 既定の Executor（使える場合は仮想スレッド）でこのコントローラーの処理を開始する。
+	 */
+	public void start() {
+		start(GameExecutors.defaultExecutor());
+	}
+	/**
+	 * 指定した Executor のタスクとしてこのコントローラーの処理を開始する。
+	 * @param executor 処理を実行する Executor
+	 */
+	public void start(Executor executor) {
+		executor.execute(this);
+	}
 	/**
 	 * コントローラーの処理の終了。
-	 * isAliveをfalseにするだけなので、必ずrun()はisAliveがfalseのときに終了するようにする。
+	 * isAliveをfalseにして、要求を待っているタスクを起こす。
 	 */
 	public final void stopController() {
-		System.out.println(this.getPlayerName() + "はいなくなりました。");
-		isAlive = false;
+		mailboxLock.lock();
+		try {
+			isAlive = false;
+			mailboxChanged.signalAll();
+		} finally {
+			mailboxLock.unlock();
+		}
+	}
+
+	/**
+	 * stopController() がまだ呼ばれていないかどうか。
+	 * @return 処理を続けているなら true
+	 */
+	public boolean isAlive() {
+		return isAlive;
 	}
 
 	/**
@@ -72,20 +138,229 @@ public abstract class BlackJackController extends Thread {
 	 * @return プレイヤー名。
 	 */
 	public String getPlayerName() {
-		return info.getPlayerNamesCopy().get(playerNumber);
+		return info.playerNameOf(playerNumber);
 	}
 
 	/**
-	 * メッセージ取得を行う抽象メソッド。
+	 * このコントローラーの思考処理。
+	 * Runnable の run() の実装。
+	 * BlackJackTable から要求が来るまで待機し、要求が来たら decide() で応答する。
+	 */
+	@Override
+	public void run() {
+		while(isAlive) {
+			int handNumber = awaitRequest();
+			if(handNumber < 0) {
+				break;
+			}
+			answer(decide(info, stage, handNumber));
+		}
+	}
+
+	/**
+	 * ゲームの公開情報と進行度からメッセージを決める。
+	 * メールボックスを使うコントローラーはこれをオーバーライドする。
+	 * @param info ゲームの公開情報
+	 * @param stage ゲームの進行度
+	 * @param handNumber 手札の番号
+	 * @return BlackJackTable で処理できるメッセージ。
+	 */
+	protected String decide(CommonInformation info, int stage, int handNumber) {
+		return "WAIT";
+	}
+
+	/**
+	 * BlackJackTable のスレッドの上で直接応答するコントローラーかどうか。
+	 * true の場合、このコントローラーの処理は開始しない。
+	 * @return 直接応答するなら true
+	 */
+	public boolean isSynchronous() {
+		return false;
+	}
+
+	/**
+	 * 他のコントローラーと同時に応答を求めてよいかどうか。
+	 * true の場合、BlackJackTable は requestDecision() で全員に要求を出してから awaitDecision() でまとめて応答を待つ。
+	 * メールボックスで応答するコントローラーだけが true を返す。
+	 * 直接応答するコントローラーや、コンソールなど他の席と共有するものから入力を受け付けるコントローラーは false を返す。
+	 * @return 同時に応答を求めてよいなら true
+	 */
+	public boolean canDecideConcurrently() {
+		return !isSynchronous();
+	}
+
+	/**
+	 * 応答の要求を出すだけで、応答は待たない。応答は awaitDecision() で受け取る。
+	 * canDecideConcurrently() が true のコントローラーでのみ使う。
+	 * @param handNumber 手札の番号
+	 */
+	public void requestDecision(int handNumber) {
+		mailboxLock.lock();
+		try {
+			postRequest(handNumber);
+		} finally {
+			mailboxLock.unlock();
+		}
+	}
+
+	/**
+	 * requestDecision() で出した要求への応答を、締め切りまで待つ。
+	 * 締め切りを過ぎた場合は要求を取り下げ、null を返す。取り下げた要求に後から応答が来ても捨てられる。
+	 * @param deadlineNanos 締め切り（System.nanoTime() の値）
+	 * @return 応答。締め切りまでに応答がなかった場合は null
+	 */
+	public Decision awaitDecision(long deadlineNanos) {
+		mailboxLock.lock();
+		try {
+			String message = awaitPostedAnswer(deadlineNanos, true);
+			return message == null ? null : Decision.fromMessage(message, stage);
+		} finally {
+			mailboxLock.unlock();
+		}
+	}
+
+	/**
+	 * メッセージの要求を出し、コントローラーが応答するまで待つ。
+	 * 応答が用意できた時点ですぐに戻るので、決まった時間待つ必要はない。
+	 * @param handNumber 手札の番号
+	 * @return 応答のメッセージ。
+	 */
+	protected String awaitAnswer(int handNumber) {
+		mailboxLock.lock();
+		try {
+			postRequest(handNumber);
+			String ret = awaitPostedAnswer(0, false);
+			return (ret == null ? "WAIT" : ret);
+		} finally {
+			mailboxLock.unlock();
+		}
+	}
+
+	/**
+	 * 要求を出してコントローラーのタスクを起こす。mailboxLock を持った状態で呼び出す。
+	 * @param handNumber 手札の番号
+	 */
+	private void postRequest(int handNumber) {
+		requestedHandNumber = handNumber;
+		answer = null;
+		requested = true;
+		requestSequence++;
+		mailboxChanged.signalAll();
+	}
+
+	/**
+	 * 出した要求への応答を待つ。mailboxLock を持った状態で呼び出す。
+	 * 戻るときには要求は取り下げられている。
+	 * @param deadlineNanos 締め切り（System.nanoTime() の値）
+	 * @param timed 締め切りを使うなら true
+	 * @return 応答のメッセージ。締め切りを過ぎた場合やコントローラーが終了した場合は null
+	 */
+	private String awaitPostedAnswer(long deadlineNanos, boolean timed) {
+		try {
+			while(answer == null && isAlive) {
+				if(timed) {
+					long remaining = deadlineNanos - System.nanoTime();
+					if(remaining <= 0) {
+						break;
+					}
+					mailboxChanged.awaitNanos(remaining);
+				} else {
+					mailboxChanged.await();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		requested = false;
+		String ret = answer;
+		answer = null;
+		return ret;
+	}
+
+	/**
+	 * BlackJackTable からメッセージの要求が来るまで待機する。
+	 * @return 要求されている手札の番号。コントローラーが終了した場合は -1
+	 */
+	protected int awaitRequest() {
+		mailboxLock.lock();
+		try {
+			while(!requested && isAlive) {
+				try {
+					mailboxChanged.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return -1;
+				}
+			}
+			if(!isAlive) {
+				return -1;
+			}
+			servingSequence = requestSequence;
+			return requestedHandNumber;
+		} finally {
+			mailboxLock.unlock();
+		}
+	}
+
+	/**
+	 * 要求に応答する。awaitAnswer() で待っている BlackJackTable はすぐに再開する。
+	 * 応答しようとしていた要求が既に取り下げられていた場合、応答は捨てられる。
+	 * @param message 応答のメッセージ
+	 */
+	protected void answer(String message) {
+		mailboxLock.lock();
+		try {
+			if(requested && servingSequence == requestSequence) {
+				requested = false;
+				answer = message;
+				mailboxChanged.signalAll();
+			}
+		} finally {
+			mailboxLock.unlock();
+		}
+	}
+
+	/**
+	 * メッセージ取得を行う。
 	 * stageに応じてBlackJackTableで処理できるメッセージを返す。
 	 * @return メッセージ。
 	 */
-	public abstract String getMessage();
+	public String getMessage() {
+		return awaitAnswer(0);
+	}
 	/**
-	 * 複数手札があり得る場合のメッセージ取得を行う抽象メソッド。
+	 * 複数手札があり得る場合のメッセージ取得を行う。
 	 * stageに応じてBlackJackTableで処理できるメッセージを返す。
 	 * @param handNumber 手札の番号
 	 * @return メッセージ。
 	 */
-	public abstract String getMessageSplited(int handNumber);
+	public String getMessageSplited(int handNumber) {
+		return awaitAnswer(handNumber);
+	}
+
+	/**
+	 * 応答を取得する。BlackJackTable はこちらを呼び出す。
+	 * 文字列で応答するコントローラー向けの変換で、プレイヤーの行動処理（stage 5）では getMessageSplited() を、
+	 * それ以外では getMessage() を呼び出し、そのメッセージを Decision.fromMessage() で応答に変換する。
+	 * 応答を直接作れるコントローラーはこれをオーバーライドする。
+	 * @param handNumber 手札の番号
+	 * @return 応答。
+	 */
+	public Decision getDecision(int handNumber) {
+		String message = (stage == 5 ? getMessageSplited(handNumber) : getMessage());
+		return Decision.fromMessage(message, stage);
+	}
+
+	/**
+	 * 締め切りまでに応答を取得する。BlackJackTable はこちらを呼び出す。
+	 * メールボックスで応答するコントローラーでは、requestDecision() で要求を出して awaitDecision() で締め切りまで待つ。
+	 * 締め切りまでに応答できないコントローラーは null を返し、BlackJackTable は既定の応答を適用する。
+	 * @param handNumber 手札の番号
+	 * @param deadlineNanos 締め切り（System.nanoTime() の値）
+	 * @return 応答。締め切りまでに応答がなかった場合は null
+	 */
+	public Decision getDecision(int handNumber, long deadlineNanos) {
+		requestDecision(handNumber);
+		return awaitDecision(deadlineNanos);
+	}
 }
@@ -0,0 +1,134 @@
+package blackJack.controller;
+
+import blackJack.CommonInformation;
+import blackJack.Decision;
+import blackJack.SeatView;
+
+/**
+ * BlackJackTable のスレッドの上で直接応答するコントローラーの抽象クラス。
+ * getDecision() が呼ばれるとその場で decideAction() を呼び出して応答を返すので、スレッドの切り替えや待機が一切ない。
+ * 計算だけで行動が決まるAIはこのクラスを継承し、decideAction() を実装する。
+ * 入力を待つなど応答に時間がかかるコントローラーは BlackJackController を直接継承する。
+ * BlackJackStrategy で書いた戦略には、seatView を渡せばこのコントローラーの席から見える状態を読ませられる。
+ * @author Takashi Sakakihara
+ *
+ */
+public abstract class SynchronousBlackJackController extends BlackJackController {
+	/**
+	 * この席から見えるゲームの状態。その時点の公開情報をそのまま読むので、ゲームごとに作り直す必要はない。
+	 */
+	protected final SeatView seatView = new InformationSeatView();
+
+	/**
+	 * コンストラクタ。
+	 * @param playerNumber プレイヤー番号。
+	 */
+	public SynchronousBlackJackController(int playerNumber) {
+		super(playerNumber);
+	}
+
+	/**
+	 * ゲームの公開情報と進行度から応答を決める。
+	 * BlackJackTable のスレッドから直接呼び出される。
+	 * 応答は型で表すので、BlackJackTable が読み取れない応答を返すことはない。
+	 * @param info ゲームの公開情報
+	 * @param stage ゲームの進行度
+	 * @param handNumber 手札の番号
+	 * @return BlackJackTable に返す応答。
+	 */
+	protected abstract Decision decideAction(CommonInformation info, int stage, int handNumber);
+
+	/**
+	 * decideAction() の応答を文字列のメッセージにする。
+	 */
+	@Override
+	protected final String decide(CommonInformation info, int stage, int handNumber) {
+		return decideAction(info, stage, handNumber).toMessage();
+	}
+
+	/**
+	 * 常に直接応答する。
+	 */
+	@Override
+	public final boolean isSynchronous() {
+		return true;
+	}
+
+	/**
+	 * スレッドは使わないので何もしない。
+	 */
+	@Override
+	public final void run() {
+	}
+
+	@Override
+	public String getMessage() {
+		return decide(info, stage, 0);
+	}
+
+	@Override
+	public String getMessageSplited(int handNumber) {
+		return decide(info, stage, handNumber);
+	}
+
+	/**
+	 * 文字列を経由せずに decideAction() の応答をそのまま返す。
+	 */
+	@Override
+	public Decision getDecision(int handNumber) {
+		return decideAction(info, stage, handNumber);
+	}
+
+	/**
+	 * 計算だけで応答するので、締め切りは使わずにその場で decideAction() の応答を返す。
+	 */
+	@Override
+	public Decision getDecision(int handNumber, long deadlineNanos) {
+		return decideAction(info, stage, handNumber);
+	}
+
+	/**
+	 * 公開情報 info のこの席の部分を SeatView として読むクラス。
+	 */
+	private final class InformationSeatView implements SeatView {
+		@Override
+		public int minimumBet() {
+			return info.minimumBet;
+		}
+
+		@Override
+		public long bet() {
+			return info.betOf(playerNumber);
+		}
+
+		@Override
+		public int dealerUpcardStrength() {
+			return info.dealersOpenStrength();
+		}
+
+		@Override
+		public int numberOfHands() {
+			return info.numberOfHandsOf(playerNumber);
+		}
+
+		@Override
+		public int handState(int hand) {
+			return info.handStateOf(playerNumber, hand);
+		}
+
+		@Override
+		public int handSize(int hand) {
+			return info.handSizeOf(playerNumber, hand);
+		}
+
+		@Override
+		public int cardNumber(int hand, int index) {
+			return info.cardOf(playerNumber, hand, index).getNumber();
+		}
+
+		@Override
+		public boolean canSplit(int hand) {
+			return info.canSplitOf(playerNumber, hand);
+		}
+	}
+}
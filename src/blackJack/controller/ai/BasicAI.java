@@ -1,32 +1,20 @@
 package blackJack.controller.ai;
 
-import java.util.ArrayList;
-
-import blackJack.BlackJackTable;
 import blackJack.CommonInformation;
-import blackJack.controller.BlackJackController;
+import blackJack.Decision;
+import blackJack.controller.SynchronousBlackJackController;
 
 /**
  * 最も単純な思考のAIによるコントローラー。
+ * 思考の中身は BasicAIStrategy にあり、BlackJackSimulator でも同じ戦略を使える。
  * @author Takashi Sakakihara
  *
  */
-public class BasicAI extends BlackJackController {
-
-	/**
-	 * メッセージのリスト。
-	 * 実際にBlackJackTableに送られるメッセージはこれ。
-	 */
-	private ArrayList<String> message;
-	/**
-	 * 最後に処理したゲームの進行度。
-	 */
-	private int lastProcessedStage;
-
+public class BasicAI extends SynchronousBlackJackController {
 	/**
-	 * 次の思考までの待ち時間。
+	 * このAIの戦略。状態を持たないので全ての席で共有する。
 	 */
-	private final int waitingTime = 50;
+	private static final BasicAIStrategy STRATEGY = new BasicAIStrategy();
 
 	/**
 	 * コンストラクタ。
@@ -34,175 +22,65 @@ public class BasicAI extends BlackJackController {
 	 */
 	public BasicAI(int playerNumber) {
 		super(playerNumber);
-		message = new ArrayList<String>();
-		message.add("INITIALIZED");
-		lastProcessedStage = 0;
 	}
 
 	/**
-	 * このAIの思考処理。
-	 * Thread の run() のオーバーライド。
+	 * ゲーム進行度に応じて応答を決める。
+	 * BlackJackTable のスレッドから直接呼び出される。
+	 * @param info ゲームの公開情報
+	 * @param stage ゲームの進行度
+	 * @param handNumber 手札の番号
+	 * @return BlackJackTable に返す応答。
 	 */
-	public void run() {
-		// isAlive が True のときは無限ループ。
-		while(isAlive) {
-			// ゲーム進行度による場合分け。
-			switch(stage) {
-			case 1: // 賭金のメッセージの設定。常時最低賭金。
-				bet();
-				break;
-			case 2: // とくになにもしない。待つ。
-				if(lastProcessedStage == stage) {
-					try {
-						Thread.sleep(waitingTime);
-					} catch (InterruptedException e) {
-						// TODO 自動生成された catch ブロック
-						e.printStackTrace();
-					}
-				} else {
-					message.set(0, "WAIT");
-					lastProcessedStage = 2;
-				}
-				break;
-			case 3: // インシュランスのメッセージの設定。常に賭金の半分のインシュランス。
-				if(lastProcessedStage == stage) {
-					try {
-						Thread.sleep(waitingTime);
-					} catch (InterruptedException e) {
-						// TODO 自動生成された catch ブロック
-						e.printStackTrace();
-					}
-				} else {
-					insure();
-				}
-				break;
-			case 4: // とくになにもしない。待つ。
-				if(lastProcessedStage == stage) {
-					try {
-						Thread.sleep(waitingTime);
-					} catch (InterruptedException e) {
-						// TODO 自動生成された catch ブロック
-						e.printStackTrace();
-					}
-				} else {
-					message.set(0, "WAIT");
-
-					lastProcessedStage = 4;
-				}
-				break;
-			case 5: // プレイヤーの行動処理。ディーラーと同じく16を超えるまでヒットし、超えたらスタンドするだけ。
-				if(lastProcessedStage == stage) {
-					try {
-						Thread.sleep(waitingTime);
-					} catch (InterruptedException e) {
-						// TODO 自動生成された catch ブロック
-						e.printStackTrace();
-					}
-				} else {
-					takePlayerAction();
-				}
-
-				break;
-			case 6: // 6,7もなにもしない。待つ。
-			case 7:
-				if(lastProcessedStage == stage) {
-					try {
-						Thread.sleep(waitingTime);
-					} catch (InterruptedException e) {
-						// TODO 自動生成された catch ブロック
-						e.printStackTrace();
-					}
-				} else {
-					message.set(0, "WAIT");
-					lastProcessedStage = 7;
-				}
-				break;
-			case 8: // 次のゲームの参加意思表示のメッセージの設定。常に続行。
-				if(lastProcessedStage == stage) {
-					try {
-						Thread.sleep(waitingTime);
-					} catch (InterruptedException e) {
-						// TODO 自動生成された catch ブロック
-						e.printStackTrace();
-					}
-				} else {
-					chooseToContinue();
-				}
-				break;
-			default:
-			}
-			try {
-				Thread.sleep(waitingTime);
-			} catch (InterruptedException e) {
-				// TODO 自動生成された catch ブロック
-				e.printStackTrace();
-			}
+	@Override
+	protected Decision decideAction(CommonInformation info, int stage, int handNumber) {
+		// ゲーム進行度による場合分け。
+		switch(stage) {
+		case 1: // 賭金のメッセージの設定。常時最低賭金。
+			return bet(info);
+		case 3: // インシュランスのメッセージの設定。常に賭金の半分のインシュランス。
+			return insure(info);
+		case 5: // プレイヤーの行動処理。ディーラーと同じく16を超えるまでヒットし、超えたらスタンドするだけ。
+			return takePlayerAction(info);
+		case 8: // 次のゲームの参加意思表示のメッセージの設定。常に続行。
+			return chooseToContinue();
+		default: // 2,4,6,7 はとくになにもしない。
+			return Decision.WAIT;
 		}
 	}
 
 	/**
 	 * 賭金を決める。
+	 * @param info ゲームの公開情報
+	 * @return 賭金の応答。
 	 */
-	private void bet() {
-		Integer bet = info.minimumBet;
-		message.set(0, bet.toString());
-		lastProcessedStage = 1;
+	private Decision bet(CommonInformation info) {
+		return Decision.bet(STRATEGY.bet(seatView));
 	}
 
 	/**
 	 * インシュランスを決める。
+	 * @param info ゲームの公開情報
+	 * @return インシュランスの応答。
 	 */
-	private void insure() {
-		int insurance = info.getAllPlayersBetsCopy().get(playerNumber) / 2;
-		message.set(0, Integer.toString(insurance));
-		lastProcessedStage = 3;
+	private Decision insure(CommonInformation info) {
+		return Decision.insure(STRATEGY.insurance(seatView));
 	}
 
 	/**
 	 * プレイヤーのアクションを決める。
+	 * @param info ゲームの公開情報
+	 * @return アクションの応答。
 	 */
-	private void takePlayerAction() {
-		if(BlackJackTable.culculateHandStrength(info.getAllPlayersHandsCopy().get(playerNumber).get(0)) > 16) {
-			message.set(0, "STAND");
-		} else {
-			message.set(0, "HIT");
-		}
+	private Decision takePlayerAction(CommonInformation info) {
+		return STRATEGY.action(seatView, 0);
 	}
 
 	/**
 	 * 次のゲームをするかどうかを決める。
+	 * @return 継続意思の応答。
 	 */
-	private void chooseToContinue() {
-		message.set(0, "CONTINUE");
-		lastProcessedStage = 8;
-	}
-
-
-	/**
-	 * ゲームの開始の準備処理。
-	 * BlackJackControllerのオーバーライドメソッド。
-	 * 前のゲームのメッセージの削除および初期化済みメッセージの設定を行う。
-	 */
-	@Override
-	public void prepare(CommonInformation info) {
-		super.prepare(info);
-		message.clear();
-		message.add("INITIALIZED");
-		lastProcessedStage = 0;
-	}
-
-	@Override
-	public String getMessage() {
-		String ret = message.get(0);
-		message.set(0, "WAIT");
-		return ret;
-	}
-
-	@Override
-	public String getMessageSplited(int handNumber) {
-		String ret = message.get(handNumber);
-		message.set(handNumber, "WAIT");
-		return ret;
+	private Decision chooseToContinue() {
+		return Decision.CONTINUE;
 	}
-
 }
@@ -0,0 +1,44 @@
+package blackJack.controller.ai;
+
+import blackJack.BlackJackStrategy;
+import blackJack.Decision;
+import blackJack.HandValue;
+import blackJack.SeatView;
+
+/**
+ * BasicAI の戦略。常に最低賭金をかけ、賭金の半分のインシュランスをかけ、
+ * ディーラーと同じく16を超えるまでヒットし、超えたらスタンドするだけ。
+ * 行動は最初の手札の点数だけで決める。
+ * @author Takashi Sakakihara
+ *
+ */
+public class BasicAIStrategy implements BlackJackStrategy {
+
+	/**
+	 * 賭金を決める。常時最低賭金。
+	 */
+	@Override
+	public long bet(SeatView seat) {
+		return seat.minimumBet();
+	}
+
+	/**
+	 * インシュランスを決める。常に賭金の半分。
+	 */
+	@Override
+	public long insurance(SeatView seat) {
+		return seat.bet() / 2;
+	}
+
+	/**
+	 * 手札の行動を決める。最初の手札の点数が16を超えていればスタンド、そうでなければヒット。
+	 */
+	@Override
+	public Decision action(SeatView seat, int handNumber) {
+		if(HandValue.strength(seat.handState(0)) > 16) {
+			return Decision.STAND;
+		} else {
+			return Decision.HIT;
+		}
+	}
+}
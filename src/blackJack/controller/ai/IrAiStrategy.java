@@ -0,0 +1,116 @@
+package blackJack.controller.ai;
+
+import blackJack.BlackJackStrategy;
+import blackJack.Decision;
+import blackJack.HandValue;
+import blackJack.SeatView;
+
+/**
+ * IrAi の戦略。常に最低賭金をかけ、賭金の半分のインシュランスをかける。
+ * 行動は手札ごとに、ディーラーのオープンカードと手札の点数から、サレンダー、ダブルダウン、スプリットを含めて決める。
+ * @author Takashi Sakakihara
+ *
+ */
+public class IrAiStrategy implements BlackJackStrategy {
+
+	/**
+	 * 賭金を決める。常時最低賭金。
+	 */
+	@Override
+	public long bet(SeatView seat) {
+		return seat.minimumBet();
+	}
+
+	/**
+	 * インシュランスを決める。常に賭金の半分。
+	 */
+	@Override
+	public long insurance(SeatView seat) {
+		return seat.bet() / 2;
+	}
+
+	/**
+	 * 手札の行動を決める。
+	 */
+	@Override
+	public Decision action(SeatView seat, int handNumber) {
+		//ディーラーのオープンカード
+		int dealersOpenCard = seat.dealerUpcardStrength();
+		//スプリットしたかどうかを判別。スプリットしていればtrue。してなければfalse。
+		boolean checkSplit = (seat.numberOfHands() == 2);
+		//手札の状態を保持。
+		int handState = seat.handState(handNumber);
+		//手札に　A　があるかどうか判別。あればtrue。無ければfalse。
+		boolean containsAce = HandValue.containsAce(handState);
+		//カードの数字を保持。
+		int myCardNum = seat.cardNumber(handNumber, 0);
+		//手札の強さを保持。
+		int playersHandsStrength = HandValue.strength(handState);
+		//ヒットしたかどうかを判別。ヒットしていればtrue。してなければfalse。
+		boolean hitCount = (seat.handSize(handNumber) != 2);
+		// サレンダー、ダブルダウン、スプリットができない場合
+		if(hitCount || checkSplit) {
+			return standOrHit(playersHandsStrength, dealersOpenCard);
+		}
+		//サレンダー、ダブルダウン、スプリットの処理
+		//後の判定ほど優先する。どれもプレイできない場合は null のまま。
+		Decision decision = null;
+		//エースがあるときの処理
+		if(containsAce) {
+			//エースがある場合のスプリットの処理
+			if(seat.canSplit(handNumber)) {
+				decision = Decision.SPLIT;
+			}
+			//エースがある場合のダブルダウンの処理
+			if(playersHandsStrength > 12 && playersHandsStrength < 19
+				&& dealersOpenCard > 3 && dealersOpenCard < 7) {
+				decision = Decision.DOUBLEDOWN;
+			}
+		} else {
+			//エースがない場合のサレンダーの処理
+			if(
+				(playersHandsStrength == 15 && dealersOpenCard == 10)
+				|| (playersHandsStrength == 16 && dealersOpenCard == 9)
+				|| (playersHandsStrength == 16 && dealersOpenCard == 10)
+				|| (playersHandsStrength == 16 && dealersOpenCard == 1)
+				) {
+				decision = Decision.SURRENDER;
+			}
+			//エースがない場合のスプリットの処理
+			if(seat.canSplit(handNumber)) {
+				if((myCardNum < 10)||(myCardNum != 6)||(myCardNum != 5)||(myCardNum != 4)){
+					decision = Decision.SPLIT;
+				}
+			}
+			//エースがない場合のダブルダウンの処理
+			if(
+				(playersHandsStrength == 9 && 2 < dealersOpenCard && dealersOpenCard < 7)
+				||(playersHandsStrength == 10 && 1 < dealersOpenCard && dealersOpenCard < 10)
+				||(playersHandsStrength == 11 && 1 < dealersOpenCard && dealersOpenCard < 11)
+				) {
+				decision = Decision.DOUBLEDOWN;
+			}
+		}
+		//上記のどれもプレイできない場合の処理
+		if(decision == null) {
+			return standOrHit(playersHandsStrength, dealersOpenCard);
+		}
+		return decision;
+	}
+
+	/**
+	 * サレンダー、ダブルダウン、スプリットをしない場合のスタンドかヒットかを決める。
+	 * @param playersHandsStrength 手札の強さ
+	 * @param dealersOpenCard ディーラーのオープンカードの点数
+	 * @return スタンドかヒットの応答
+	 */
+	private static Decision standOrHit(int playersHandsStrength, int dealersOpenCard) {
+		if(playersHandsStrength > 11 && dealersOpenCard < 7) {
+			return Decision.STAND;
+		} else if(playersHandsStrength > 16) {
+			return Decision.STAND;
+		} else {
+			return Decision.HIT;
+		}
+	}
+}
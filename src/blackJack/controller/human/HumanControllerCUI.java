@@ -1,10 +1,13 @@
 package blackJack.controller.human;
 
-import java.util.ArrayList;
+import java.util.List;
 
 import blackJack.BlackJackTable;
+import blackJack.Decision;
+import blackJack.InformationSnapshot;
 import blackJack.controller.BlackJackController;
 import system.core.Card;
+import system.core.GameLogger;
 import system.front.ScannerForMultiThreadOnCUI;
 
 /**
@@ -18,6 +21,14 @@ public class HumanControllerCUI extends BlackJackController {
 	 * CUIの入力のオブジェクト。
 	 */
 	private final ScannerForMultiThreadOnCUI scanCUI;
+	/**
+	 * 入力の締め切りを使うかどうか。getDecision(int, long) の間だけ true になる。
+	 */
+	private boolean timed = false;
+	/**
+	 * 入力の締め切り（System.nanoTime() の値）。
+	 */
+	private long deadlineNanos;
 
 	/**
 	 * コンストラクタ。
@@ -36,34 +47,80 @@ public class HumanControllerCUI extends BlackJackController {
 
 	}
 
+	/**
+	 * コンソールは他の席と共有しているので、同時に応答を求めることはできない。
+	 * BlackJackTable は席の順番にこのコントローラーの入力を待つ。
+	 */
+	@Override
+	public boolean canDecideConcurrently() {
+		return false;
+	}
+
+	/**
+	 * 締め切りまでに入力を受け付ける。
+	 * INFO や RULE を表示している時間も含めて、締め切りを過ぎたら null を返す。
+	 */
+	@Override
+	public Decision getDecision(int handNumber, long deadlineNanos) {
+		this.deadlineNanos = deadlineNanos;
+		this.timed = true;
+		try {
+			String message = (stage == 5 ? getMessageSplited(handNumber) : getMessage());
+			return message == null ? null : Decision.fromMessage(message, stage);
+		} finally {
+			this.timed = false;
+		}
+	}
+
+	/**
+	 * 項目名 inputValueName の文字列を入力する。
+	 * getDecision(int, long) の中では締め切りまでしか待たない。
+	 * @param inputValueName 入力する項目名
+	 * @return 入力された文字列。締め切りを過ぎた場合は null
+	 */
+	private String scan(String inputValueName) {
+		if(!timed) {
+			return scanCUI.scanString(inputValueName);
+		}
+		long remainingMillis = (deadlineNanos - System.nanoTime()) / 1_000_000;
+		String input = (remainingMillis > 0 ? scanCUI.scanString(inputValueName, remainingMillis) : null);
+		if(input == null) {
+			System.out.println("時間内に入力がありませんでした。");
+		}
+		return input;
+	}
+
 	/**
 	 * メッセージの取得。
 	 * ゲームの進行度に応じて何を入力するのかを表示する。
+	 * 締め切りを過ぎた場合は null を返す。
 	 */
 	@Override
 	public String getMessage() {
+		GameLogger.flush();
 		String ret = "";
-		System.out.println(stage);
 		while(true) {
 			System.out.println("現在のゲーム状況を表示したい場合は \"INFO\" , ゲームのルールを確認したいときは \"RULE\" と入力してください");
 			switch(stage) {
 			case 1:
 				System.out.println("この勝負の賭金を整数で入力してください。0を入力するとこの勝負をパスできます。");
-				ret = scanCUI.scanString(this.getPlayerName() + "の賭金");
+				ret = scan(this.getPlayerName() + "の賭金");
 				break;
 			case 3:
 				System.out.println("インシュランスするならその額を賭金の半分までの整数で入力してください。0を入力するとインシュランスをしません。");
-				ret = scanCUI.scanString(this.getPlayerName() + "のインシュランス");
+				ret = scan(this.getPlayerName() + "のインシュランス");
 				break;
 			case 8:
 				System.out.println("ゲームを終了する場合はENDを、次のゲームに行く場合はCONTINUEを入力してください。");
-				ret = scanCUI.scanString(this.getPlayerName() + "の継続意思");
+				ret = scan(this.getPlayerName() + "の継続意思");
 				break;
 			default:
-				ret = scanCUI.scanString(this.getPlayerName() + "のアクション");
+				ret = scan(this.getPlayerName() + "のアクション");
 				break;
 			}
-			if(ret.contentEquals("INFO")) {
+			if(ret == null) {
+				break;
+			} else if(ret.contentEquals("INFO")) {
 				info.printStatus();
 				System.out.println(this.stage);
 			} else if(ret.contentEquals("RULE")) {
@@ -78,16 +135,19 @@ public class HumanControllerCUI extends BlackJackController {
 	/**
 	 * メッセージの取得。
 	 * 可能なアクションを表示する。
+	 * 締め切りを過ぎた場合は null を返す。
 	 */
 	@Override
 	public String getMessageSplited(int handNumber) {
+		GameLogger.flush();
 		System.out.println("現在のゲーム状況を表示したい場合は \"INFO\" と入力してください");
 		String ret = "";
 		while(true) {
 			System.out.println("アクションを選択してください。\n"
 				+ "ヒットする場合はHIT、スタンドする場合はSTAND、サレンダーする場合はSURRENDER、ダブルダウンする場合はDOUBLEDOWN、スプリットする場合はSPLITを入力します。");
-			if(info.getAllPlayersBetsCopy().get(playerNumber) > info.getPlayerChipsCopy().get(playerNumber)) {
-				ArrayList<ArrayList<Card>> hand = info.getAllPlayersHandsCopy().get(playerNumber);
+			InformationSnapshot snapshot = info.snapshot();
+			if(info.betOf(playerNumber) > info.chipsOf(playerNumber)) {
+				List<List<Card>> hand = snapshot.getAllPlayersHands().get(playerNumber);
 				if(hand.size() == 1 && hand.get(0).size() == 2) {
 					System.out.println("現在ダブルダウンが可能です。");
 					if(BlackJackTable.canSplit(hand.get(0))) {
@@ -95,12 +155,14 @@ public class HumanControllerCUI extends BlackJackController {
 					}
 				}
 			}
-			if(info.getAllPlayersHandsCopy().get(playerNumber).size() > 1) {
-				ret = scanCUI.scanString(this.getPlayerName() + "の第" + handNumber + "手札のアクション");
+			if(snapshot.getAllPlayersHands().get(playerNumber).size() > 1) {
+				ret = scan(this.getPlayerName() + "の第" + handNumber + "手札のアクション");
 			} else {
-				ret = scanCUI.scanString(this.getPlayerName() + "のアクション");
+				ret = scan(this.getPlayerName() + "のアクション");
 			}
-			if(ret.contentEquals("INFO")) {
+			if(ret == null) {
+				break;
+			} else if(ret.contentEquals("INFO")) {
 				info.printStatus();
 			} else {
 				break;
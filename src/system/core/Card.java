@@ -3,18 +3,42 @@ package system.core;
 /**
  * トランプのカード一枚一枚を実装するクラス。
  * このクラスのインスタンスはコンストラクタで定めた値から変わらない不変オブジェクトとなる。
+ * 不変なので、通常は {@link #of(int, int)} で共有のインスタンスを取得して使う。
  * @author Takashi Sakakihara
  *
  */
 public class Card implements VisualizerOnCUI {
+	/**
+	 * 共有インスタンスの数。ジョーカーを除く52枚とジョーカー2枚（14と15）。
+	 */
+	public static final int NUMBER_OF_CANONICAL_CARDS = CardCodec.NUMBER_OF_CODES;
+	/**
+	 * 共有インスタンスの表。CardCodec の符号の位置にそのカードが入る。
+	 */
+	private static final Card[] CANONICAL_CARDS = new Card[NUMBER_OF_CANONICAL_CARDS];
+	static {
+		for(int number = 1; number < 16; number++) {
+			for(int symbol = 0; symbol < 5; symbol++) {
+				int index = CardCodec.encode(number, symbol);
+				if(index >= 0) {
+					try {
+						CANONICAL_CARDS[index] = new Card(number, symbol);
+					} catch(InvalidCardException e) {
+						System.out.println(e);
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * トランプのカードの数字（1から15まで）
 	 */
-	private int number;
+	private final int number;
 	/**
 	 * トランプのカードのマーク（4がジョーカー、3がスペード、2がハート、1がクラブ、0がダイヤ）
 	 */
-	private int symbol;
+	private final int symbol;
 
 	/**
 	 * コンストラクタ。不正な値が入ってきた場合は例外InvalidCardExceptionを投げる。
@@ -36,6 +60,22 @@ public class Card implements VisualizerOnCUI {
 		}
 	}
 
+	/**
+	 * 数字とマークに対応する共有インスタンスを返す静的ファクトリメソッド。
+	 * 表を引くだけなので新しいオブジェクトは生成せず、例外も投げない。
+	 * 共有インスタンス同士は同じカードなら同一のオブジェクトになるため、equals は参照の比較だけで済む。
+	 * @param number カード番号（1～13、ジョーカーは14と15）
+	 * @param symbol カードのマーク番号（0～3、ジョーカーは4）
+	 * @return カードの共有インスタンス。存在し得ないカードの場合は null
+	 */
+	public static Card of(int number, int symbol) {
+		int index = CardCodec.encode(number, symbol);
+		if(index < 0) {
+			return null;
+		}
+		return CANONICAL_CARDS[index];
+	}
+
 	/**
 	 * カードの数字を返す。ジョーカーは14と15
 	 * @return カードの数字
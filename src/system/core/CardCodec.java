@@ -0,0 +1,90 @@
+package system.core;
+
+/**
+ * カードを小さな整数（0～53）に変換・復元する静的メソッドをまとめたクラス。
+ * 大量のシミュレーションなどで Card のオブジェクトを使わずに int の配列で手札を扱うときに使う。
+ * 1～13 の数字のカードは (数字 - 1) * 4 + マーク番号（0～51）、ジョーカーの14と15はそれぞれ52と53になる。
+ * @author Takashi Sakakihara
+ *
+ */
+public final class CardCodec {
+	/**
+	 * 符号の種類の数。
+	 */
+	public static final int NUMBER_OF_CODES = 54;
+	/**
+	 * 符号からカードの数字を引く表。
+	 */
+	private static final int[] NUMBERS = new int[NUMBER_OF_CODES];
+	/**
+	 * 符号からカードのマーク番号を引く表。
+	 */
+	private static final int[] SYMBOLS = new int[NUMBER_OF_CODES];
+	static {
+		for(int code = 0; code < 52; code++) {
+			NUMBERS[code] = code / 4 + 1;
+			SYMBOLS[code] = code % 4;
+		}
+		NUMBERS[52] = 14;
+		SYMBOLS[52] = 4;
+		NUMBERS[53] = 15;
+		SYMBOLS[53] = 4;
+	}
+
+	/**
+	 * インスタンスは生成しない。
+	 */
+	private CardCodec() {
+	}
+
+	/**
+	 * 数字とマークから符号を求める。
+	 * @param number カード番号（1～13、ジョーカーは14と15）
+	 * @param symbol カードのマーク番号（0～3、ジョーカーは4）
+	 * @return カードの符号。存在し得ないカードの場合は -1
+	 */
+	public static int encode(int number, int symbol) {
+		if(0 < number && number < 14 && 0 <= symbol && symbol <= 3) {
+			return (number - 1) * 4 + symbol;
+		} else if((number == 14 || number == 15) && symbol == 4) {
+			return number + 38;
+		}
+		return -1;
+	}
+
+	/**
+	 * カードを符号に変換する。
+	 * @param card カード
+	 * @return カードの符号。
+	 */
+	public static int encode(Card card) {
+		return encode(card.getNumber(), card.getSymbol());
+	}
+
+	/**
+	 * 符号からカードの共有インスタンスを復元する。
+	 * @param code カードの符号
+	 * @return カードの共有インスタンス
+	 */
+	public static Card decode(int code) {
+		return Card.of(NUMBERS[code], SYMBOLS[code]);
+	}
+
+	/**
+	 * 符号からカードの数字を取得する。
+	 * @param code カードの符号
+	 * @return カードの数字
+	 */
+	public static int number(int code) {
+		return NUMBERS[code];
+	}
+
+	/**
+	 * 符号からカードのマーク番号を取得する。
+	 * @param code カードの符号
+	 * @return カードのマーク番号
+	 */
+	public static int symbol(int code) {
+		return SYMBOLS[code];
+	}
+}
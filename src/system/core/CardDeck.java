@@ -1,31 +1,93 @@
 package system.core;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * カードの山札を扱うクラス。
  * @author Takashi Sakakihara
  *
  */
-public class CardDeck implements VisualizerOnCUI {
+public class CardDeck implements CardShoe, VisualizerOnCUI {
 	/**
 	 * カードの山札。
+	 * 配列の nextCardIndex 番目から後ろがまだ引かれていないカードとなる。
+	 * 引いたカードを取り除かずに読み出し位置を進めるだけなので、1枚引くのにかかる時間はデッキ数によらず一定になる。
 	 */
-	private ArrayList<Card> cards;
+	private Card[] cards;
+	/**
+	 * 次に引くカードの位置（読み出し位置）。
+	 */
+	private int nextCardIndex;
 	/**
 	 * この山札がゲーム開始時もともと何枚だったかを保持する。
 	 */
 	private int initialDeckSize;
+	/**
+	 * シャッフル前の並び順。シードからの再現のため、シャッフルし直すときは必ずこの並びから混ぜる。
+	 */
+	private Card[] initialOrder;
+	/**
+	 * シューごとのシードを生成する乱数生成器。山札ごとに持つので、他のスレッドの山札と競合しない。
+	 */
+	private final RandomGenerator random;
+	/**
+	 * 現在のシュー（シャッフルし直してから次にシャッフルし直すまでの山札）のシード。
+	 */
+	private long shoeSeed;
+	/**
+	 * 現在のシューのシャッフルに使う乱数生成器。shoeSeed で初期化される。
+	 */
+	private RandomGenerator shoeRandom;
+	/**
+	 * 山札の初期状態での数字ごとの枚数。添字がカードの数字（1～15）となる。
+	 */
+	private final int[] initialCountsByNumber = new int[16];
+	/**
+	 * 山札の初期状態でのマークごとの枚数。添字がマーク番号（0～4）となる。
+	 */
+	private final int[] initialCountsBySymbol = new int[5];
+	/**
+	 * まだ引かれていないカードの数字ごとの枚数。カードを引くたびに更新する。
+	 */
+	private final int[] remainingByNumber = new int[16];
+	/**
+	 * まだ引かれていないカードのマークごとの枚数。カードを引くたびに更新する。
+	 */
+	private final int[] remainingBySymbol = new int[5];
+	/**
+	 * 遅延シャッフルを行うかどうか。
+	 * true のときはシャッフルし直す際に混ぜず、カードを引くたびに残りのカードから一様に1枚選ぶ。
+	 * 配られる順番の分布は全体をシャッフルした場合と同じで、処理量は実際に引いた枚数に比例する。
+	 */
+	private boolean lazyShuffle = false;
+	/**
+	 * 山札の操作のログを出力するロガー。テーブルで使う場合はテーブルのロガーに差し替える。
+	 */
+	private GameLogger logger = new GameLogger(LogLevel.DETAIL);
 
 	/**
 	 * 初期山札（カードのArrayList）を受け取って初期化するコンストラクタ。
 	 * @param cards カードのArrayList
 	 */
 	public CardDeck(ArrayList<Card> cards) {
-		this.cards = cards;
-		this.initialDeckSize = cards.size();
-		Collections.shuffle(cards);
+		this(cards, new SplittableRandom());
+	}
+
+	/**
+	 * 初期山札（カードのArrayList）と乱数生成器を受け取って初期化するコンストラクタ。
+	 * @param cards カードのArrayList
+	 * @param random シューごとのシードを生成する乱数生成器
+	 */
+	public CardDeck(ArrayList<Card> cards, RandomGenerator random) {
+		this.random = random;
+		this.initialOrder = cards.toArray(new Card[cards.size()]);
+		this.cards = new Card[initialOrder.length];
+		this.initialDeckSize = initialOrder.length;
+		countInitialCards();
+		reset();
 	}
 
 	/**
@@ -33,21 +95,40 @@ public class CardDeck implements VisualizerOnCUI {
 	 * @param numberOfCardDeck トランプのデッキ数
 	 */
 	public CardDeck(int numberOfCardDeck) {
-		cards = new ArrayList<Card>();
+		this(numberOfCardDeck, new SplittableRandom());
+	}
+
+	/**
+	 * ジョーカーを除いたトランプのカード52枚のデッキを引数個混ぜて、シードから再現可能な山札として初期化するコンストラクタ。
+	 * @param numberOfCardDeck トランプのデッキ数
+	 * @param seed 乱数のシード
+	 */
+	public CardDeck(int numberOfCardDeck, long seed) {
+		this(numberOfCardDeck, new SplittableRandom(seed));
+	}
+
+	/**
+	 * ジョーカーを除いたトランプのカード52枚のデッキを引数個混ぜて初期化するコンストラクタ。
+	 * 並列にシミュレーションを行う場合は、山札ごとに別の乱数生成器（SplittableRandom の split() など）を渡す。
+	 * @param numberOfCardDeck トランプのデッキ数
+	 * @param random シューごとのシードを生成する乱数生成器
+	 */
+	public CardDeck(int numberOfCardDeck, RandomGenerator random) {
+		this.random = random;
+		initialOrder = new Card[numberOfCardDeck * 52];
+		int index = 0;
 		for(int i = 0; i < numberOfCardDeck; i++) {
 			for(int j = 1; j < 14; j++) {
 				for(int k = 0; k < 4; k++) {
-					try {
-						cards.add(new Card(j, k));
-					} catch(Exception e) {
-						System.out.println(e);
-					}
+					initialOrder[index++] = Card.of(j, k);
 				}
 			}
 		}
 
+		this.cards = new Card[initialOrder.length];
 		this.initialDeckSize = numberOfCardDeck * 52;
-		Collections.shuffle(cards);
+		countInitialCards();
+		reset();
 	}
 
 	/**
@@ -67,20 +148,36 @@ public class CardDeck implements VisualizerOnCUI {
 		if(numberOfJokers < 1) {
 			System.out.println("正の整数ではない枚数のジョーカーを追加することはできません。");
 			return;
-		} else if(cards.size() != this.initialDeckSize) {
+		} else if(getCurrentDeckSize() != this.initialDeckSize) {
 			System.out.println("すでに使用が始まっているデッキにジョーカーを追加することはできません。");
+			return;
 		}
+		Card[] newOrder = new Card[initialOrder.length + numberOfJokers];
+		System.arraycopy(initialOrder, 0, newOrder, 0, initialOrder.length);
+		int index = initialOrder.length;
 		int jokerNumber = 15;
 		for(int i = 0; i < numberOfJokers; i++) {
-			try {
-				cards.add(new Card(jokerNumber, 4));
-				jokerNumber = (jokerNumber == 15 ? 14 : 15);
-			} catch(InvalidCardException e) {
-				System.out.println(e);
-			}
+			newOrder[index++] = Card.of(jokerNumber, 4);
+			jokerNumber = (jokerNumber == 15 ? 14 : 15);
+		}
+		this.initialOrder = newOrder;
+		this.cards = new Card[newOrder.length];
+		this.initialDeckSize = newOrder.length;
+		countInitialCards();
+		reset();
+	}
+
+	/**
+	 * 山札の初期状態での数字ごと、マークごとの枚数を数える。
+	 * 山札の構成が決まったときに一度だけ呼び出す。
+	 */
+	private void countInitialCards() {
+		Arrays.fill(initialCountsByNumber, 0);
+		Arrays.fill(initialCountsBySymbol, 0);
+		for(Card card : initialOrder) {
+			initialCountsByNumber[card.getNumber()]++;
+			initialCountsBySymbol[card.getSymbol()]++;
 		}
-		this.initialDeckSize = cards.size();
-		Collections.shuffle(cards);
 	}
 
 
@@ -90,41 +187,173 @@ public class CardDeck implements VisualizerOnCUI {
 	 * @return 引いたカードのArrayList
 	 */
 	public ArrayList<Card> drawCards(int drawNumber) {
-		ArrayList<Card> drawCards = new ArrayList<Card>();
+		ArrayList<Card> drawCards = new ArrayList<Card>(drawNumber);
 		for(int i = 0; i < drawNumber; i++) {
-			drawCards.add(cards.remove(0));
+			drawCards.add(drawCard());
 		}
 		return drawCards;
 	}
 
 	/**
 	 * デッキをシャッフルする。
+	 * まだ引かれていないカードのみを混ぜる。
+	 * 遅延シャッフルの場合は引くたびに混ぜるので、ここでは何もしない。
 	 */
 	public void shuffle() {
-		System.out.println("シャッフルしました。");
-		Collections.shuffle(cards);
+		logger.detail("シャッフルしました。");
+		if(!lazyShuffle) {
+			shuffleRemainingCards();
+		}
+	}
+
+	/**
+	 * 引いたカードをすべて山札に戻し、新しいシードでシャッフルし直す。
+	 * 同じ配列の中で並べ直すので、新しいカードや山札は生成しない。
+	 */
+	@Override
+	public void reset() {
+		reset(random.nextLong());
+	}
+
+	/**
+	 * 引いたカードをすべて山札に戻し、指定したシードでシャッフルし直す。
+	 * getShoeSeed() で記録したシードを渡すと、そのシューと同じ並びの山札を再現できる。
+	 * @param shoeSeed シューのシード
+	 */
+	@Override
+	public void reset(long shoeSeed) {
+		this.shoeSeed = shoeSeed;
+		this.shoeRandom = new SplittableRandom(shoeSeed);
+		System.arraycopy(initialOrder, 0, cards, 0, initialOrder.length);
+		System.arraycopy(initialCountsByNumber, 0, remainingByNumber, 0, initialCountsByNumber.length);
+		System.arraycopy(initialCountsBySymbol, 0, remainingBySymbol, 0, initialCountsBySymbol.length);
+		this.nextCardIndex = 0;
+		if(!lazyShuffle) {
+			shuffleRemainingCards();
+		}
+	}
+
+	/**
+	 * 遅延シャッフルを行うかどうかを設定する。
+	 * 途中で遅延シャッフルをやめた場合は、まだ引かれていないカードをその場でシャッフルする。
+	 * @param lazyShuffle 遅延シャッフルを行うなら true
+	 */
+	public void setLazyShuffle(boolean lazyShuffle) {
+		if(this.lazyShuffle && !lazyShuffle) {
+			shuffleRemainingCards();
+		}
+		this.lazyShuffle = lazyShuffle;
+	}
+
+	/**
+	 * 山札の操作のログを出力するロガーを設定する。
+	 * テーブルのロガーを渡すと、テーブルのログの詳しさに従って出力される。
+	 * @param logger ロガー
+	 */
+	public void setLogger(GameLogger logger) {
+		this.logger = logger;
+	}
+
+	/**
+	 * 遅延シャッフルを行っているかどうかを取得する。
+	 * @return 遅延シャッフルを行っているなら true
+	 */
+	public boolean isLazyShuffle() {
+		return this.lazyShuffle;
+	}
+
+	/**
+	 * 現在のシューのシードを取得する。
+	 * @return シューのシード
+	 */
+	@Override
+	public long getShoeSeed() {
+		return this.shoeSeed;
 	}
 
+	/**
+	 * 引かれていない部分のカード（nextCardIndex 以降）を Fisher-Yates 法で混ぜる。
+	 */
+	private void shuffleRemainingCards() {
+		for(int i = cards.length - 1; i > nextCardIndex; i--) {
+			int j = nextCardIndex + shoeRandom.nextInt(i - nextCardIndex + 1);
+			Card temp = cards[i];
+			cards[i] = cards[j];
+			cards[j] = temp;
+		}
+	}
+
+	/**
+	 * デッキから1枚カードを引く。
+	 * 読み出し位置を進めるだけなので定数時間で動作し、新たなオブジェクトを生成しない。
+	 * 遅延シャッフルの場合は、残りのカードから一様に選んだ1枚を読み出し位置と入れ替えてから引く（Fisher-Yates 法の1手分）。
+	 * @return 引いたカード
+	 * @throws IndexOutOfBoundsException 山札にカードが残っていないときの例外
+	 */
+	@Override
 	public Card drawCard() {
-		return cards.remove(0);
+		if(nextCardIndex >= cards.length) {
+			throw new IndexOutOfBoundsException("山札にカードが残っていません。");
+		}
+		if(lazyShuffle) {
+			int j = nextCardIndex + shoeRandom.nextInt(cards.length - nextCardIndex);
+			Card temp = cards[nextCardIndex];
+			cards[nextCardIndex] = cards[j];
+			cards[j] = temp;
+		}
+		Card card = cards[nextCardIndex++];
+		remainingByNumber[card.getNumber()]--;
+		remainingBySymbol[card.getSymbol()]--;
+		return card;
 	}
 
+	/**
+	 * まだ引かれていないカードのうち、指定した数字のカードの枚数を取得する。
+	 * カードを引くたびに更新している値を返すだけなので、山札を走査しない。
+	 * @param number カードの数字（1～15）
+	 * @return 残り枚数。存在しない数字の場合は0
+	 */
+	@Override
+	public int remainingOfNumber(int number) {
+		if(number < 1 || 15 < number) {
+			return 0;
+		}
+		return remainingByNumber[number];
+	}
+
+	/**
+	 * まだ引かれていないカードのうち、指定したマークのカードの枚数を取得する。
+	 * カードを引くたびに更新している値を返すだけなので、山札を走査しない。
+	 * @param symbol カードのマーク番号（0～4）
+	 * @return 残り枚数。存在しないマークの場合は0
+	 */
+	@Override
+	public int remainingOfSymbol(int symbol) {
+		if(symbol < 0 || 4 < symbol) {
+			return 0;
+		}
+		return remainingBySymbol[symbol];
+	}
+
+	@Override
 	public int getInitialDeckSize() {
 		return this.initialDeckSize;
 	}
 
+	@Override
 	public int getCurrentDeckSize() {
-		return this.cards.size();
+		return this.cards.length - this.nextCardIndex;
 	}
 
+	@Override
 	public double getRemainingRate() {
-		return (((double) cards.size() / (double) initialDeckSize));
+		return (((double) getCurrentDeckSize() / (double) initialDeckSize));
 	}
 
 	@Override
 	public void printStatus() {
 		System.out.println("山札の初期枚数：" + this.initialDeckSize);
-		System.out.println("カードの残り枚数：" + this.cards.size());
+		System.out.println("カードの残り枚数：" + getCurrentDeckSize());
 	}
 
 	@Override
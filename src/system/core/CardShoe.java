@@ -0,0 +1,56 @@
+package system.core;
+
+/**
+ * ゲームでカードを配る山札（シュー）のインターフェース。
+ * カードの実体を並べて持つ CardDeck のほか、枚数だけを数えて持つ山札などもこれを実装する。
+ * @author Takashi Sakakihara
+ *
+ */
+public interface CardShoe {
+	/**
+	 * 山札から1枚カードを引く。
+	 * @return 引いたカード
+	 */
+	public Card drawCard();
+	/**
+	 * 引いたカードをすべて山札に戻し、シャッフルし直す。
+	 */
+	public void reset();
+	/**
+	 * 引いたカードをすべて山札に戻し、指定したシードでシャッフルし直す。
+	 * @param shoeSeed シューのシード
+	 */
+	public void reset(long shoeSeed);
+	/**
+	 * 現在のシューのシードを取得する。
+	 * @return シューのシード
+	 */
+	public long getShoeSeed();
+	/**
+	 * 山札の初期枚数を取得する。
+	 * @return 山札の初期枚数
+	 */
+	public int getInitialDeckSize();
+	/**
+	 * 山札の残り枚数を取得する。
+	 * @return 山札の残り枚数
+	 */
+	public int getCurrentDeckSize();
+	/**
+	 * 山札の初期枚数に対する残り枚数の割合を取得する。
+	 * @return 残り枚数の割合
+	 */
+	public double getRemainingRate();
+	/**
+	 * まだ引かれていないカードのうち、指定した数字のカードの枚数を取得する。
+	 * @param number カードの数字
+	 * @return 残り枚数
+	 */
+	public int remainingOfNumber(int number);
+	/**
+	 * まだ引かれていないカードのうち、指定したマークのカードの枚数を取得する。
+	 * @param symbol カードのマーク番号
+	 * @return 残り枚数。マークを管理しない山札の場合は -1
+	 */
+	public int remainingOfSymbol(int symbol);
+}
@@ -0,0 +1,74 @@
+package system.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ゲームのテーブルやコントローラーを動かす Executor を用意するクラス。
+ * 仮想スレッドが使える実行環境（Java 21 以降）では、タスクごとに仮想スレッドを割り当てる Executor を使う。
+ * 使えない実行環境では、デーモンスレッドを使い回すスレッドプールで代用する。
+ * @author Takashi Sakakihara
+ *
+ */
+public final class GameExecutors {
+	/**
+	 * 既定の Executor。最初に使うときに生成する。
+	 */
+	private static volatile ExecutorService defaultExecutor;
+
+	/**
+	 * インスタンスは生成しない。
+	 */
+	private GameExecutors() {
+	}
+
+	/**
+	 * テーブルやコントローラーを開始するときに Executor を指定しなかった場合に使う、共有の Executor を返す。
+	 * @return 既定の Executor
+	 */
+	public static ExecutorService defaultExecutor() {
+		ExecutorService executor = defaultExecutor;
+		if(executor == null) {
+			synchronized(GameExecutors.class) {
+				executor = defaultExecutor;
+				if(executor == null) {
+					executor = newPerTaskExecutor();
+					defaultExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * タスクごとにスレッドを割り当てる Executor を新しく生成する。
+	 * 仮想スレッドが使える場合は Executors.newVirtualThreadPerTaskExecutor() を使う。
+	 * コンパイル時の Java のバージョンに依存しないように、リフレクションで呼び出す。
+	 * @return タスクごとにスレッドを割り当てる Executor
+	 */
+	public static ExecutorService newPerTaskExecutor() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			return Executors.newCachedThreadPool(daemonThreadFactory("game"));
+		}
+	}
+
+	/**
+	 * デーモンスレッドを生成する ThreadFactory を返す。
+	 * @param prefix スレッド名の接頭辞
+	 * @return ThreadFactory
+	 */
+	public static ThreadFactory daemonThreadFactory(String prefix) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
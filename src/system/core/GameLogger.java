@@ -0,0 +1,192 @@
+package system.core;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ゲームのログを出力するクラス。
+ * ログは固定長のリングバッファに積むだけで、実際のコンソールへの書き出しは背景のスレッドがまとめて行う。
+ * そのため、ゲームの処理はコンソールの入出力を待たない。
+ * バッファがいっぱいのときはログを捨てるので、出力を読む人がいるかどうかでゲームの動きが変わることはない。
+ * 出力先のバッファと書き出しスレッドは全てのインスタンスで共有し、詳しさ（LogLevel）はインスタンスごとに持つ。
+ * @author Takashi Sakakihara
+ *
+ */
+public class GameLogger {
+	/**
+	 * リングバッファの容量（行数）。
+	 */
+	public static final int BUFFER_CAPACITY = 8192;
+	/**
+	 * ログのリングバッファ。全てのインスタンスで共有する。
+	 */
+	private static final ArrayBlockingQueue<String> buffer = new ArrayBlockingQueue<String>(BUFFER_CAPACITY);
+	/**
+	 * バッファに積んだ行数。
+	 */
+	private static final AtomicLong enqueuedLines = new AtomicLong();
+	/**
+	 * 書き出し終わった行数。lock で保護する。
+	 */
+	private static long writtenLines = 0;
+	/**
+	 * バッファがいっぱいで捨てた行数。
+	 */
+	private static final AtomicLong droppedLines = new AtomicLong();
+	/**
+	 * 書き出しの完了を待つためのロック。仮想スレッドから待ってもキャリアスレッドを占有しないよう ReentrantLock を使う。
+	 */
+	private static final ReentrantLock lock = new ReentrantLock();
+	/**
+	 * 書き出しが進んだことを知らせる条件。
+	 */
+	private static final Condition written = lock.newCondition();
+	/**
+	 * 背景の書き出しスレッド。
+	 */
+	private static final Thread writer;
+	static {
+		writer = new Thread(GameLogger::writeLoop, "GameLogger-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * このロガーの出力の詳しさ。
+	 */
+	private volatile LogLevel level;
+
+	/**
+	 * コンストラクタ。
+	 * @param level 出力の詳しさ
+	 */
+	public GameLogger(LogLevel level) {
+		this.level = level;
+	}
+
+	/**
+	 * 出力の詳しさを設定する。
+	 * @param level 出力の詳しさ
+	 */
+	public void setLevel(LogLevel level) {
+		this.level = level;
+	}
+
+	/**
+	 * 出力の詳しさを取得する。
+	 * @return 出力の詳しさ
+	 */
+	public LogLevel getLevel() {
+		return level;
+	}
+
+	/**
+	 * ゲームの進行のログを出力するかどうか。
+	 * 文字列の連結が必要なメッセージは、これが true のときだけ作るようにする。
+	 * @return DETAIL のときは true
+	 */
+	public boolean isDetail() {
+		return level == LogLevel.DETAIL;
+	}
+
+	/**
+	 * ゲームの結果のログを出力するかどうか。
+	 * @return SUMMARY 以上のときは true
+	 */
+	public boolean isSummary() {
+		return level != LogLevel.SILENT;
+	}
+
+	/**
+	 * ゲームの進行のログを1行出力する。
+	 * @param message メッセージ
+	 */
+	public void detail(String message) {
+		if(isDetail()) {
+			enqueue(message);
+		}
+	}
+
+	/**
+	 * ゲームの結果のログを1行出力する。
+	 * @param message メッセージ
+	 */
+	public void summary(String message) {
+		if(isSummary()) {
+			enqueue(message);
+		}
+	}
+
+	/**
+	 * バッファにこれまで積んだログがすべて書き出されるまで待つ。
+	 * 標準入力を受け付ける前など、コンソールの表示の順番をそろえたいときに呼び出す。
+	 */
+	public static void flush() {
+		long target = enqueuedLines.get();
+		lock.lock();
+		try {
+			while(writtenLines < target) {
+				try {
+					written.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * バッファに1行積む。いっぱいの場合は待たずに捨てる。
+	 * @param message メッセージ
+	 */
+	private static void enqueue(String message) {
+		if(buffer.offer(message)) {
+			enqueuedLines.incrementAndGet();
+		} else {
+			droppedLines.incrementAndGet();
+		}
+	}
+
+	/**
+	 * 書き出しスレッドの処理。
+	 * バッファに溜まっている行をまとめて取り出し、一度に書き出す。
+	 */
+	private static void writeLoop() {
+		ArrayList<String> lines = new ArrayList<String>();
+		StringBuilder text = new StringBuilder();
+		long reportedDroppedLines = 0;
+		while(true) {
+			try {
+				lines.add(buffer.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			buffer.drainTo(lines);
+			text.setLength(0);
+			long dropped = droppedLines.get();
+			if(dropped > reportedDroppedLines) {
+				text.append("（ログのバッファがいっぱいのため ").append(dropped - reportedDroppedLines).append(" 行を捨てました）\n");
+				reportedDroppedLines = dropped;
+			}
+			for(String line : lines) {
+				text.append(line).append('\n');
+			}
+			System.out.print(text);
+			System.out.flush();
+			lock.lock();
+			try {
+				writtenLines += lines.size();
+				written.signalAll();
+			} finally {
+				lock.unlock();
+			}
+			lines.clear();
+		}
+	}
+}
@@ -1,13 +1,18 @@
 package system.core;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
 import system.front.ScannerForMultiThreadOnCUI;
 
 /**
  * ゲームを管理する抽象クラス。すべてのゲームはこのクラスを継承する。
+ * ゲームの処理は run() に書き、start() で Executor のタスクとして実行する。
+ * スレッドは Executor が割り当てるので、テーブル自体はスレッドを持たない。
  * @author Takashi Sakakihara
  *
  */
-public abstract class GameTable extends Thread implements VisualizerOnCUI {
+public abstract class GameTable implements Runnable, VisualizerOnCUI {
 	/**
 	 * CUIでゲームをするときに使用する標準入力のスキャナ。
 	 * マルチスレッド用に作ったクラス。
@@ -16,7 +21,7 @@ public abstract class GameTable extends Thread implements VisualizerOnCUI {
 	/**
 	 * ゲームで使用する山札。
 	 */
-	protected CardDeck gameDeck;
+	protected CardShoe gameDeck;
 	/**
 	 * ゲームの参加人数。
 	 */
@@ -39,6 +44,68 @@ public abstract class GameTable extends Thread implements VisualizerOnCUI {
 		this.scanCUI = scanCUI;
 	}
 
+	/**
+	 * ゲームの終了を待つためのラッチ。start() するたびに作り直す。
+	 */
+	private volatile CountDownLatch finished = new CountDownLatch(0);
+	/**
+	 * run() が例外で終了した場合のその例外。start() するたびに null に戻す。
+	 */
+	private volatile Throwable failure;
+
+	/**
+	 * 既定の Executor（使える場合は仮想スレッド）でゲームを開始する。
+	 */
+	public void start() {
+		start(GameExecutors.defaultExecutor());
+	}
+
+	/**
+	 * 指定した Executor のタスクとしてゲームを開始する。
+	 * run() が例外で終了した場合は、その例外を getFailure() で取得できるように記録してから投げ直す。
+	 * @param executor ゲームを実行する Executor
+	 */
+	public void start(Executor executor) {
+		CountDownLatch latch = new CountDownLatch(1);
+		this.finished = latch;
+		this.failure = null;
+		executor.execute(() -> {
+			try {
+				run();
+			} catch(Throwable e) {
+				failure = e;
+				throw e;
+			} finally {
+				latch.countDown();
+			}
+		});
+	}
+
+	/**
+	 * ゲームが終了するまで待つ。
+	 * @throws InterruptedException 待っている間に割り込まれたときの例外
+	 */
+	public void join() throws InterruptedException {
+		finished.await();
+	}
+
+	/**
+	 * ゲームが終了しているかどうか。
+	 * @return 開始していないか終了していれば true
+	 */
+	public boolean isFinished() {
+		return finished.getCount() == 0;
+	}
+
+	/**
+	 * run() が例外で終了した場合の、その例外を取得する。
+	 * join() の後に呼び出す。
+	 * @return run() が投げた例外。正常に終了したか、まだ終了していなければ null
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
 	/**
 	 * ゲームの初期設定やプレイヤーの配置などを行う。
 	 */
@@ -0,0 +1,101 @@
+package system.core;
+
+import java.util.List;
+
+/**
+ * カードの符号（CardCodec を参照）を int の配列で保持する手札のクラス。
+ * 容量は生成時に固定し、カードを追加してもオブジェクトは生成しない。
+ * ArrayList&lt;Card&gt; の手札と違って参照をたどる必要がないため、大量の手札を扱う処理に向く。
+ * @author Takashi Sakakihara
+ *
+ */
+public final class IntHand {
+	/**
+	 * カードの符号の配列。
+	 */
+	private final int[] codes;
+	/**
+	 * 手札の枚数。
+	 */
+	private int size;
+
+	/**
+	 * 容量を指定するコンストラクタ。
+	 * @param capacity 手札に持てる最大枚数
+	 */
+	public IntHand(int capacity) {
+		this.codes = new int[capacity];
+		this.size = 0;
+	}
+
+	/**
+	 * カードのリストの内容で初期化するコンストラクタ。容量はリストの枚数と同じになる。
+	 * @param cards カードのリスト
+	 */
+	public IntHand(List<Card> cards) {
+		this(cards.size());
+		for(Card card : cards) {
+			add(card);
+		}
+	}
+
+	/**
+	 * 手札に符号でカードを1枚追加する。
+	 * @param code カードの符号
+	 */
+	public void add(int code) {
+		codes[size++] = code;
+	}
+
+	/**
+	 * 手札にカードを1枚追加する。
+	 * @param card カード
+	 */
+	public void add(Card card) {
+		add(CardCodec.encode(card));
+	}
+
+	/**
+	 * index 番目のカードの符号を取得する。
+	 * @param index 手札の中の位置
+	 * @return カードの符号
+	 */
+	public int get(int index) {
+		if(index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+		}
+		return codes[index];
+	}
+
+	/**
+	 * index 番目のカードの数字を取得する。
+	 * @param index 手札の中の位置
+	 * @return カードの数字
+	 */
+	public int numberAt(int index) {
+		return CardCodec.number(get(index));
+	}
+
+	/**
+	 * 手札の枚数を取得する。
+	 * @return 手札の枚数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 手札に持てる最大枚数を取得する。
+	 * @return 手札の容量
+	 */
+	public int capacity() {
+		return codes.length;
+	}
+
+	/**
+	 * 手札を空にする。配列は使い回す。
+	 */
+	public void clear() {
+		size = 0;
+	}
+}
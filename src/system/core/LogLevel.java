@@ -0,0 +1,21 @@
+package system.core;
+
+/**
+ * ゲームのログの出力の詳しさ。
+ * @author Takashi Sakakihara
+ *
+ */
+public enum LogLevel {
+	/**
+	 * 何も出力しない。メッセージの文字列も作らない。
+	 */
+	SILENT,
+	/**
+	 * ゲームごとの結果と最終結果のみを出力する。
+	 */
+	SUMMARY,
+	/**
+	 * 配られたカードやプレイヤーの行動など、ゲームの進行をすべて出力する。
+	 */
+	DETAIL;
+}
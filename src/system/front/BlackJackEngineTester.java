@@ -0,0 +1,98 @@
+package system.front;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import blackJack.BlackJackEngineResult;
+import blackJack.BlackJackTable;
+import blackJack.BlackJackTableConfig;
+import blackJack.BlackJackTableEngine;
+import blackJack.BlackJackTableResult;
+
+/**
+ * AIだけのテーブルを1つのJVMで大量に動かせることを確かめる。
+ * BlackJackTableConfig で作った TABLES 個のテーブル（山札がゲームの途中でなくなるものを含む）を BlackJackTableEngine に投入し、
+ * 全てのテーブルが例外を出さずに終了して結果が揃うことと、全てのテーブルで全てのプレイヤーの stop() が呼ばれたことを確認する。
+ * 確認できなければ終了コード1で終わる。
+ * @author Takashi Sakakihara
+ *
+ */
+public class BlackJackEngineTester {
+	/**
+	 * 動かすテーブルの数。
+	 */
+	private static final int TABLES = 5000;
+	/**
+	 * テーブルごとの最大ゲーム数。
+	 */
+	private static final int MAX_GAME_NUMBER = 20;
+
+	/**
+	 * i 番目のテーブルの設定を作る。
+	 * 10個に1個は、1デッキに7人が座りペネトレーションが0.95の、ゲームの途中で山札がなくなるテーブルにする。
+	 * @param i テーブルの番号
+	 * @return テーブルの設定
+	 */
+	private static BlackJackTableConfig newConfig(int i) {
+		BlackJackTableConfig config = new BlackJackTableConfig()
+				.setMaxGameNumber(MAX_GAME_NUMBER)
+				.setSeed(i)
+				.setUseRankCountShoe(i % 2 == 0);
+		if(i % 10 == 9) {
+			config.setNumberOfDecks(1).setPenetration(0.95);
+			for(int seat = 0; seat < 7; seat++) {
+				config.addSeat("seat" + seat, seat % 2 == 0 ? "BasicAIPlayer" : "IrAi");
+			}
+		} else {
+			config.setNumberOfDecks(6)
+					.addSeat("basic", "BasicAIPlayer")
+					.addSeat("ir", "IrAi");
+		}
+		return config;
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		long start = System.nanoTime();
+		BlackJackTableEngine engine = new BlackJackTableEngine();
+		List<BlackJackTable> tables = new ArrayList<BlackJackTable>(TABLES);
+		for(int i = 0; i < TABLES; i++) {
+			BlackJackTable table = new BlackJackTable(newConfig(i));
+			tables.add(table);
+			engine.submit(table);
+		}
+		BlackJackEngineResult result = engine.awaitAll();
+		engine.shutdown();
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		boolean passed = true;
+		if(result.getNumberOfTables() != TABLES) {
+			System.out.println("終了したテーブルが " + result.getNumberOfTables() + " 個しかありません！");
+			passed = false;
+		}
+		if(!result.isAllSucceeded()) {
+			System.out.println("例外で終了したテーブルが " + result.getNumberOfFailedTables() + " 個あります！");
+			for(BlackJackTableResult tableResult : result.getTableResults()) {
+				if(tableResult.isFailed()) {
+					System.out.println("最初の例外 : " + tableResult.getFailure());
+					break;
+				}
+			}
+			passed = false;
+		}
+		int running = 0;
+		for(BlackJackTable table : tables) {
+			if(!table.arePlayersStopped()) {
+				running++;
+			}
+		}
+		if(running > 0) {
+			System.out.println("プレイヤーの stop() が呼ばれていないテーブルが " + running + " 個あります！");
+			passed = false;
+		}
+		System.out.println(result.getNumberOfTables() + " テーブル , " + result.getTotalGames() + " ゲーム , " + elapsedMillis + " ms");
+		System.out.println(passed ? "全てのテーブルが正常に終了しました。" : "正常に終了していないテーブルがあります！");
+		if(!passed) {
+			System.exit(1);
+		}
+	}
+}
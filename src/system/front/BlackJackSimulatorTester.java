@@ -0,0 +1,77 @@
+package system.front;
+
+import blackJack.BlackJackSimulationConfig;
+import blackJack.BlackJackSimulator;
+import blackJack.BlackJackStrategy;
+import blackJack.SimulationResult;
+import blackJack.controller.ai.BasicAIStrategy;
+import blackJack.controller.ai.IrAiStrategy;
+
+/**
+ * BlackJackSimulator が、ラウンドの途中で山札がなくなるような設定でも最後まで動くことと、
+ * runParallel() の結果がスレッドの数によらないことを確かめる。
+ * 戦略とデッキ数、ペネトレーションの組ごとに、スレッドの数を変えて同じシードで行い、
+ * 例外が出るか、ラウンド数が足りないか、結果が一致しなければ終了コード1で終わる。
+ * @author Takashi Sakakihara
+ *
+ */
+public class BlackJackSimulatorTester {
+	/**
+	 * 組ごとに行うラウンド数。チャンクのラウンド数で割り切れない数にしている。
+	 */
+	private static final long ROUNDS = 1_000_003L;
+	/**
+	 * 試すデッキ数とペネトレーションの組。
+	 */
+	private static final double[][] SHOES = {
+			{ 1, 0.95 },
+			{ 1, 0.8 },
+			{ 6, 0.75 },
+	};
+	/**
+	 * 試すスレッドの数。
+	 */
+	private static final int[] PARALLELISMS = { 1, 4 };
+
+	public static void main(String[] args) {
+		boolean passed = true;
+		for(BlackJackStrategy strategy : new BlackJackStrategy[] { new BasicAIStrategy(), new IrAiStrategy() }) {
+			for(double[] shoe : SHOES) {
+				String name = strategy.getClass().getSimpleName() + " " + (int) shoe[0] + "デッキ ペネトレーション" + shoe[1];
+				SimulationResult first = null;
+				for(int parallelism : PARALLELISMS) {
+					SimulationResult result;
+					try {
+						result = BlackJackSimulator.runParallel(new BlackJackSimulationConfig()
+								.setStrategy(strategy)
+								.setNumberOfDecks((int) shoe[0])
+								.setPenetration(shoe[1])
+								.setRounds(ROUNDS)
+								.setChunkRounds(1L << 14)
+								.setParallelism(parallelism)
+								.setSeed(1L));
+					} catch(RuntimeException e) {
+						System.out.println(name + " : " + parallelism + "スレッドで例外が出ました！ " + e);
+						passed = false;
+						continue;
+					}
+					if(result.getRounds() != ROUNDS) {
+						System.out.println(name + " : ラウンド数が " + result.getRounds() + " です！");
+						passed = false;
+					}
+					if(first == null) {
+						first = result;
+						System.out.printf("%s : EV %.4f%n", name, result.getExpectedValuePerUnitBet());
+					} else if(!first.equals(result)) {
+						System.out.println(name + " : " + parallelism + "スレッドの結果が一致しません！");
+						passed = false;
+					}
+				}
+			}
+		}
+		System.out.println(passed ? "全ての設定で最後まで動きました。" : "失敗した設定があります！");
+		if(!passed) {
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package system.front;
+
+import java.util.SplittableRandom;
+
+import system.core.CardDeck;
+
+/**
+ * CardDeck の遅延シャッフルで、配られるカードの分布が変わっていないことを確かめる。
+ * 同じシードの乱数で、通常のシャッフルと遅延シャッフルの山札をそれぞれ SHOES 回シャッフルし直し、
+ * 先頭から POSITIONS 枚目までの配る位置ごとに、引いたカードの数字の度数を数える。
+ * 位置ごとに、一様分布に対する適合度のカイ二乗値と、2つの方式の度数の差のカイ二乗値を求め、
+ * いずれかが自由度12の有意水準0.1%の値を超えたら失敗として終了コード1で終わる。
+ * @author Takashi Sakakihara
+ *
+ */
+public class CardDeckShuffleTester {
+	/**
+	 * シャッフルし直す回数。
+	 */
+	private static final int SHOES = 200_000;
+	/**
+	 * 度数を数える配る位置の数。
+	 */
+	private static final int POSITIONS = 5;
+	/**
+	 * カードの数字の種類数。
+	 */
+	private static final int NUMBERS = 13;
+	/**
+	 * 自由度12のカイ二乗分布の上側0.1%点。
+	 */
+	private static final double CRITICAL_VALUE = 32.909;
+	/**
+	 * 乱数のシード。
+	 */
+	private static final long SEED = 20_240_501L;
+
+	public static void main(String[] args) {
+		long[][] eager = countNumbers(false);
+		long[][] lazy = countNumbers(true);
+		boolean passed = true;
+		for(int position = 0; position < POSITIONS; position++) {
+			double eagerChiSquare = uniformChiSquare(eager[position]);
+			double lazyChiSquare = uniformChiSquare(lazy[position]);
+			double differenceChiSquare = homogeneityChiSquare(eager[position], lazy[position]);
+			System.out.printf("%d枚目 : 通常 %.2f , 遅延 %.2f , 差 %.2f%n", position + 1, eagerChiSquare, lazyChiSquare, differenceChiSquare);
+			if(eagerChiSquare > CRITICAL_VALUE || lazyChiSquare > CRITICAL_VALUE || differenceChiSquare > CRITICAL_VALUE) {
+				passed = false;
+			}
+		}
+		System.out.println(passed ? "分布は変わっていません。" : "分布が変わっています！");
+		if(!passed) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * 1デッキの山札を SHOES 回シャッフルし直し、配る位置ごとに引いたカードの数字の度数を数える。
+	 * @param lazyShuffle 遅延シャッフルにするかどうか
+	 * @return counts[配る位置][数字 - 1] の度数
+	 */
+	private static long[][] countNumbers(boolean lazyShuffle) {
+		CardDeck deck = new CardDeck(1, new SplittableRandom(SEED));
+		deck.setLazyShuffle(lazyShuffle);
+		long[][] counts = new long[POSITIONS][NUMBERS];
+		for(int shoe = 0; shoe < SHOES; shoe++) {
+			deck.reset();
+			for(int position = 0; position < POSITIONS; position++) {
+				counts[position][deck.drawCard().getNumber() - 1]++;
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * 一様分布に対する適合度のカイ二乗値を求める。
+	 * @param counts 数字ごとの度数
+	 * @return カイ二乗値
+	 */
+	private static double uniformChiSquare(long[] counts) {
+		double expected = (double) SHOES / NUMBERS;
+		double chiSquare = 0;
+		for(long count : counts) {
+			chiSquare += (count - expected) * (count - expected) / expected;
+		}
+		return chiSquare;
+	}
+
+	/**
+	 * 同じ回数ずつ数えた2つの度数の分布が等しいかどうかのカイ二乗値を求める。
+	 * @param first 一方の数字ごとの度数
+	 * @param second もう一方の数字ごとの度数
+	 * @return カイ二乗値
+	 */
+	private static double homogeneityChiSquare(long[] first, long[] second) {
+		double chiSquare = 0;
+		for(int i = 0; i < NUMBERS; i++) {
+			double expected = (first[i] + second[i]) / 2.0;
+			if(expected > 0) {
+				chiSquare += (first[i] - expected) * (first[i] - expected) / expected;
+				chiSquare += (second[i] - expected) * (second[i] - expected) / expected;
+			}
+		}
+		return chiSquare;
+	}
+}
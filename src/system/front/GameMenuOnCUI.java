@@ -1,5 +1,6 @@
 package system.front;
 
+import system.core.GameLogger;
 import system.core.GameSelector;
 import system.core.GameTable;
 
@@ -23,6 +24,7 @@ public class GameMenuOnCUI {
 			table.start();
 			try {
 				table.join();
+				GameLogger.flush();
 			} catch (InterruptedException e) {
 				// TODO 自動生成された catch ブロック
 				e.printStackTrace();
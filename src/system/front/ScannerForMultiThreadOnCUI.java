@@ -1,54 +1,198 @@
 package system.front;
 
 import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * マルチスレッドで一つの標準入力を使い回すためのクラス
+ * 入力待ちの排他には synchronized ではなく ReentrantLock を使うので、仮想スレッドから呼び出してもキャリアスレッドを占有しない。
+ * 標準入力は専用のデーモンスレッドが1行ずつ読んでキューに入れ、各メソッドはそのキューから語を取り出す。
+ * そのため、入力を待つ時間に上限を付けられる（scanString(String, long)）。
  * @author Takashi Sakakihara
  *
  */
 public class ScannerForMultiThreadOnCUI {
+	/**
+	 * 標準入力の終わりを表す印。キューの中で参照の比較で見分ける。
+	 */
+	private static final String END_OF_INPUT = new String("");
 	/**
 	 * 標準入力のスキャナー
 	 */
 	Scanner scan;
+	/**
+	 * 標準入力の排他のためのロック
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+	/**
+	 * 標準入力から読んだ行のキュー。
+	 */
+	private final BlockingQueue<String> lines = new LinkedBlockingQueue<String>();
+	/**
+	 * 読んでいる途中の行の語。
+	 */
+	private String[] tokens = new String[0];
+	/**
+	 * tokens のうち次に返す語の位置。
+	 */
+	private int tokenIndex = 0;
+	/**
+	 * 行を読んでいる途中かどうか。nextLine() が行の残りを返すために使う。
+	 */
+	private boolean inLine = false;
 
 	/**
-	 * コンストラクタ。スキャナを標準入力で初期化。
+	 * コンストラクタ。スキャナを標準入力で初期化し、標準入力を読むスレッドを開始する。
 	 */
 	public ScannerForMultiThreadOnCUI() {
 		this.scan = new Scanner(System.in);
+		Thread reader = new Thread(this::readLines, "cui-input");
+		reader.setDaemon(true);
+		reader.start();
+	}
+
+	/**
+	 * 標準入力を1行ずつ読んでキューに入れる。標準入力が終わったら終わりの印を入れる。
+	 */
+	private void readLines() {
+		try {
+			while(scan.hasNextLine()) {
+				lines.add(scan.nextLine());
+			}
+		} finally {
+			lines.add(END_OF_INPUT);
+		}
+	}
+
+	/**
+	 * 次の語が読めるまで待つ。ロックを持った状態で呼び出す。
+	 * @param deadlineNanos 締め切り（System.nanoTime() の値）
+	 * @param timed 締め切りを使うなら true
+	 * @return 次の語が読めるなら true。締め切りを過ぎた場合は false
+	 * @throws NoSuchElementException 標準入力が終わっているときの例外
+	 */
+	private boolean awaitToken(long deadlineNanos, boolean timed) {
+		while(tokenIndex >= tokens.length) {
+			String line;
+			try {
+				if(timed) {
+					long remaining = deadlineNanos - System.nanoTime();
+					line = remaining > 0 ? lines.poll(remaining, TimeUnit.NANOSECONDS) : null;
+				} else {
+					line = lines.take();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new NoSuchElementException("入力の待機が中断されました。");
+			}
+			if(line == null) {
+				return false;
+			}
+			if(line == END_OF_INPUT) {
+				lines.add(END_OF_INPUT);
+				throw new NoSuchElementException("標準入力が終わりました。");
+			}
+			String trimmed = line.trim();
+			tokens = trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+");
+			tokenIndex = 0;
+			inLine = true;
+		}
+		return true;
 	}
 
 	/**
-	 * synchronized な Scanner の next()
+	 * 排他制御した Scanner の next()
 	 * @return 標準入力の文字列
 	 */
-	public synchronized String next() {
-		return scan.next();
+	public String next() {
+		lock.lock();
+		try {
+			awaitToken(0, false);
+			return tokens[tokenIndex++];
+		} finally {
+			lock.unlock();
+		}
 	}
 	/**
-	 * synchronized な Scanner の next()
+	 * 排他制御した Scanner の nextLine()
+	 * 行の途中まで読んでいた場合はその行の残りを返す。
 	 * @return 標準入力の文字列
 	 */
-	public synchronized String nextLine() {
-		return scan.nextLine();
+	public String nextLine() {
+		lock.lock();
+		try {
+			if(inLine) {
+				StringBuilder rest = new StringBuilder();
+				for(int i = tokenIndex; i < tokens.length; i++) {
+					if(rest.length() > 0) {
+						rest.append(' ');
+					}
+					rest.append(tokens[i]);
+				}
+				tokenIndex = tokens.length;
+				inLine = false;
+				return rest.toString();
+			}
+			String line = lines.take();
+			if(line == END_OF_INPUT) {
+				lines.add(END_OF_INPUT);
+				throw new NoSuchElementException("標準入力が終わりました。");
+			}
+			return line;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new NoSuchElementException("入力の待機が中断されました。");
+		} finally {
+			lock.unlock();
+		}
 	}
 	/**
-	 * synchronized な Scanner の nextInt()
+	 * 排他制御した Scanner の nextInt()
+	 * Scanner と同じく、整数として読めなかった語は読み進めない。
 	 * @return 入力された整数
 	 * @throws InputMismatchException 入力の形式が正しくないときの例外
 	 */
-	public synchronized int nextInt() throws InputMismatchException {
-		return scan.nextInt();
+	public int nextInt() throws InputMismatchException {
+		lock.lock();
+		try {
+			awaitToken(0, false);
+			int value;
+			try {
+				value = Integer.parseInt(tokens[tokenIndex]);
+			} catch(NumberFormatException e) {
+				throw new InputMismatchException(tokens[tokenIndex]);
+			}
+			tokenIndex++;
+			return value;
+		} finally {
+			lock.unlock();
+		}
 	}
 	/**
-	 * synchronized な Scanner の next()
+	 * 排他制御した Scanner の nextDouble()
+	 * Scanner と同じく、数として読めなかった語は読み進めない。
 	 * @return 標準入力の文字列
 	 */
-	public synchronized double nextDouble() throws InputMismatchException {
-		return scan.nextDouble();
+	public double nextDouble() throws InputMismatchException {
+		lock.lock();
+		try {
+			awaitToken(0, false);
+			double value;
+			try {
+				value = Double.parseDouble(tokens[tokenIndex]);
+			} catch(NumberFormatException e) {
+				throw new InputMismatchException(tokens[tokenIndex]);
+			}
+			tokenIndex++;
+			return value;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -58,32 +202,73 @@ public class ScannerForMultiThreadOnCUI {
 	 * @param maxValue 受け取る最大値
 	 * @return 標準入力された値
 	 */
-	public synchronized int scanInt(String inputValueName, int minValue, int maxValue) {
-		int inputValue;
-		while(true) {
-			System.out.print(inputValueName + " :");
-			try {
-				inputValue = nextInt();
-				if(minValue <= inputValue && inputValue <= maxValue) {
-					break;
-				} else {
-					System.out.println(minValue + "～" + maxValue + "で入力してください。");
+	public int scanInt(String inputValueName, int minValue, int maxValue) {
+		lock.lock();
+		try {
+			int inputValue;
+			while(true) {
+				System.out.print(inputValueName + " :");
+				try {
+					inputValue = nextInt();
+					if(minValue <= inputValue && inputValue <= maxValue) {
+						break;
+					} else {
+						System.out.println(minValue + "～" + maxValue + "で入力してください。");
+					}
+				} catch(InputMismatchException e) {
+					System.out.println("半角数字で入力してください。");
+					next();
 				}
-			} catch(InputMismatchException e) {
-				System.out.println("半角数字で入力してください。");
-				scan.next();
+				System.out.println();
 			}
+			return inputValue;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public String scanString(String inputValueName) {
+		lock.lock();
+		try {
+			String input;
+			System.out.print(inputValueName + " :");
+			input = next();
 			System.out.println();
+			return input;
+		} finally {
+			lock.unlock();
 		}
-		return inputValue;
 	}
 
-	public synchronized String scanString(String inputValueName) {
-		String input;
-		System.out.print(inputValueName + " :");
-		input = next();
-		System.out.println();
-		return input;
+	/**
+	 * 項目名 inputValueName の文字列を、timeoutMillis ミリ秒まで待って標準入力する。
+	 * 時間内に入力がなかった場合は null を返す。その後に入力された文字列は次の入力として読まれる。
+	 * @param inputValueName 入力する項目名
+	 * @param timeoutMillis 入力を待つ時間（ミリ秒）
+	 * @return 標準入力された文字列。時間内に入力がなかった場合は null
+	 */
+	public String scanString(String inputValueName, long timeoutMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		try {
+			if(!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+				return null;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		try {
+			System.out.print(inputValueName + " :");
+			if(!awaitToken(deadline, true)) {
+				System.out.println();
+				return null;
+			}
+			String input = tokens[tokenIndex++];
+			System.out.println();
+			return input;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 }